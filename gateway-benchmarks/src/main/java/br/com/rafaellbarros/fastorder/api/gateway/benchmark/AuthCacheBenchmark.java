@@ -0,0 +1,127 @@
+package br.com.rafaellbarros.fastorder.api.gateway.benchmark;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.AuthCacheProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.config.TokenRevocationProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.security.AuthMetrics;
+import br.com.rafaellbarros.fastorder.api.gateway.security.CachedJwtAuthenticationManager;
+import br.com.rafaellbarros.fastorder.api.gateway.security.InvalidTokenCache;
+import br.com.rafaellbarros.fastorder.api.gateway.security.JwtAuthCacheService;
+import br.com.rafaellbarros.fastorder.api.gateway.security.JwtAuthenticationCache;
+import br.com.rafaellbarros.fastorder.api.gateway.security.JwtAuthenticationStore;
+import br.com.rafaellbarros.fastorder.api.gateway.security.KeycloakJwtAuthenticationConverter;
+import br.com.rafaellbarros.fastorder.api.gateway.security.TokenDigest;
+import br.com.rafaellbarros.fastorder.api.gateway.security.TokenRevocationRegistry;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho completo do {@link CachedJwtAuthenticationManager} nos três cenários
+ * do cache: hit no L1, hit no L2 (L1 limpo antes de cada chamada) e miss
+ * total (decode + conversão + escrita nos dois níveis).
+ * <p>
+ * O L2 é um mapa em memória ({@code memory}) ou um mapa de bytes gerados pelo
+ * serializer do Redis ({@code serialized}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class AuthCacheBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Pipeline {
+
+        @Param({"memory", "serialized"})
+        String store;
+
+        CachedJwtAuthenticationManager manager;
+        JwtAuthenticationCache cache;
+        JwtAuthenticationStore l2;
+        BearerTokenAuthenticationToken bearer;
+        String key;
+
+        @Setup(Level.Trial)
+        public void setUp() throws JOSEException {
+            RSAKey rsaKey = BenchmarkJwts.generateKey();
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+            l2 = "memory".equals(store)
+                    ? new InMemoryAuthenticationStore()
+                    : new SerializingAuthenticationStore();
+
+            cache = new JwtAuthenticationCache(new AuthCacheProperties(), l2, meterRegistry);
+
+            AuthMetrics metrics = new AuthMetrics(meterRegistry);
+
+
+            JwtAuthCacheService service = new JwtAuthCacheService(
+                    NimbusReactiveJwtDecoder.withPublicKey(rsaKey.toRSAPublicKey()).build(),
+                    new KeycloakJwtAuthenticationConverter(),
+                    cache,
+                    new InvalidTokenCache(new AuthCacheProperties(), meterRegistry),
+                    new TokenRevocationRegistry(new TokenRevocationProperties(), cache),
+                    metrics);
+
+            manager = new CachedJwtAuthenticationManager(service, metrics);
+
+            String token = BenchmarkJwts.sign(rsaKey, "user-1");
+            bearer = new BearerTokenAuthenticationToken(token);
+            key = TokenDigest.of(token);
+
+            manager.authenticate(bearer).block();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LocalMiss {
+
+        @Setup(Level.Invocation)
+        public void evictLocal(Pipeline pipeline) {
+            pipeline.cache.evictLocal(pipeline.key);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FullMiss {
+
+        @Setup(Level.Invocation)
+        public void evictAll(Pipeline pipeline) {
+            pipeline.cache.evict(pipeline.key).block();
+        }
+    }
+
+    @Benchmark
+    public Authentication localHit(Pipeline pipeline) {
+        return pipeline.manager.authenticate(pipeline.bearer).block();
+    }
+
+    @Benchmark
+    public Authentication remoteHit(Pipeline pipeline, LocalMiss localMiss) {
+        return pipeline.manager.authenticate(pipeline.bearer).block();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Authentication miss(Pipeline pipeline, FullMiss fullMiss) {
+        return pipeline.manager.authenticate(pipeline.bearer).block();
+    }
+}
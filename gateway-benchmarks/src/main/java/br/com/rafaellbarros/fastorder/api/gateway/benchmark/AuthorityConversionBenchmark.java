@@ -0,0 +1,95 @@
+package br.com.rafaellbarros.fastorder.api.gateway.benchmark;
+
+import br.com.rafaellbarros.fastorder.api.gateway.security.KeycloakJwtAuthenticationConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Conversão de "realm_access.roles" em authorities: implementação original
+ * (lista nova e uma authority por role a cada chamada) contra a atual, com
+ * authorities compartilhadas por combinação de roles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class AuthorityConversionBenchmark {
+
+    @Param({"2", "8"})
+    int roles;
+
+    private Jwt jwt;
+    private KeycloakJwtAuthenticationConverter converter;
+
+    @Setup
+    public void setUp() {
+        // lista nova a cada token, como chega do decoder
+        List<String> roleNames = new ArrayList<>(IntStream.range(0, roles)
+                .mapToObj(i -> "role-" + i)
+                .toList());
+
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user-1")
+                .claim("realm_access", Map.of("roles", roleNames))
+                .build();
+
+        converter = new KeycloakJwtAuthenticationConverter();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken legacy() {
+        return legacyConvert(jwt);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken cached() {
+        return converter.convert(jwt).block();
+    }
+
+    /**
+     * Cópia da conversão anterior, mantida só como referência do benchmark.
+     */
+    @SuppressWarnings("unchecked")
+    static AbstractAuthenticationToken legacyConvert(Jwt jwt) {
+
+        Collection<GrantedAuthority> authorities = new ArrayList<>();
+
+        Map<String, Object> realmAccess = jwt.getClaim("realm_access");
+
+        if (realmAccess != null && realmAccess.get("roles") != null) {
+            List<String> roles = (List<String>) realmAccess.get("roles");
+
+            roles.forEach(role ->
+                    authorities.add(
+                            new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())
+                    )
+            );
+        }
+
+        return new JwtAuthenticationToken(jwt, authorities);
+    }
+}
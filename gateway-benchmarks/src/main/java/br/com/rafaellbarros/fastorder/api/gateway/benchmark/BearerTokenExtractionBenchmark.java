@@ -0,0 +1,59 @@
+package br.com.rafaellbarros.fastorder.api.gateway.benchmark;
+
+import br.com.rafaellbarros.fastorder.api.gateway.security.BearerTokenExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extração do token do header Authorization, primeira etapa do {@code JwtAuthWebFilter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class BearerTokenExtractionBenchmark {
+
+    private HttpHeaders headers;
+    private MockServerWebExchange exchange;
+    private BearerTokenExtractor extractor;
+
+    @Setup
+    public void setUp() {
+        String token = BenchmarkJwts.sign(BenchmarkJwts.generateKey(), "user-1");
+
+        MockServerHttpRequest request = MockServerHttpRequest.get("/user-service/v1/users")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .build();
+
+        headers = request.getHeaders();
+        exchange = MockServerWebExchange.from(request);
+        extractor = new BearerTokenExtractor();
+    }
+
+    @Benchmark
+    public String extract() {
+        return BearerTokenExtractor.extract(headers);
+    }
+
+    @Benchmark
+    public Authentication convert() {
+        return extractor.convert(exchange).block();
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.rafaellbarros.fastorder.api.gateway.benchmark;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chaves RSA e tokens assinados localmente, no formato dos tokens do Keycloak.
+ */
+final class BenchmarkJwts {
+
+    static final List<String> ROLES = List.of("user", "customer", "offline_access", "uma_authorization");
+
+    private BenchmarkJwts() {
+    }
+
+    static RSAKey generateKey() {
+        try {
+            return new RSAKeyGenerator(2048).keyID("benchmark").generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String sign(RSAKey key, String subject) {
+        Instant now = Instant.now();
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(subject)
+                .issuer("http://localhost:8085/realms/fastorder")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(3600)))
+                .claim("preferred_username", subject)
+                .claim("email", subject + "@fastorder.local")
+                .claim("azp", "fastorder-web")
+                .claim("realm_access", Map.of("roles", ROLES))
+                .build();
+
+        try {
+            SignedJWT jwt = new SignedJWT(
+                    new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+                    claims);
+            jwt.sign(new RSASSASigner(key));
+            return jwt.serialize();
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
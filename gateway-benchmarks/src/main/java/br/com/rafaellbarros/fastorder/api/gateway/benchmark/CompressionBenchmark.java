@@ -0,0 +1,108 @@
+package br.com.rafaellbarros.fastorder.api.gateway.benchmark;
+
+import br.com.rafaellbarros.fastorder.api.gateway.support.ContentEncoding;
+import br.com.rafaellbarros.fastorder.api.gateway.support.StreamingCompressor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Vazão da compressão por tamanho de payload: o {@link StreamingCompressor}
+ * (buffer a buffer, saída em pedaços de 8 KB) contra agregar o corpo inteiro e
+ * comprimir com {@link GZIPOutputStream}. Com {@code identity} mede só o custo
+ * de atravessar o Flux.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class CompressionBenchmark {
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+    private static final int LEVEL = 5;
+
+    @Param({"512", "4096", "65536", "1048576"})
+    int payloadBytes;
+
+    @Param({"GZIP", "DEFLATE", "IDENTITY"})
+    ContentEncoding encoding;
+
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; json.length() < payloadBytes; i++) {
+            json.append("{\"id\":").append(i)
+                    .append(",\"name\":\"Cliente ").append(i)
+                    .append("\",\"email\":\"cliente").append(i).append("@fastorder.com\",\"active\":true},");
+        }
+        payload = json.substring(0, payloadBytes).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public long streaming() {
+        return StreamingCompressor.compress(body(), encoding, LEVEL, bufferFactory, CHUNK_SIZE)
+                .map(buffer -> {
+                    int length = buffer.readableByteCount();
+                    DataBufferUtils.release(buffer);
+                    return (long) length;
+                })
+                .reduce(0L, Long::sum)
+                .block();
+    }
+
+    @Benchmark
+    public long buffered() throws IOException {
+
+        DataBuffer joined = DataBufferUtils.join(body()).block();
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+
+        if (encoding == ContentEncoding.IDENTITY) {
+            return bytes.length;
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output) {
+            {
+                def.setLevel(LEVEL);
+            }
+        }) {
+            gzip.write(bytes);
+        }
+        return output.size();
+    }
+
+    /**
+     * Corpo em buffers de 8 KB, como chega do serviço.
+     */
+    private Flux<DataBuffer> body() {
+        return Flux.range(0, (payload.length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                .map(i -> bufferFactory.wrap(ByteBuffer.wrap(payload, i * CHUNK_SIZE,
+                        Math.min(CHUNK_SIZE, payload.length - i * CHUNK_SIZE))));
+    }
+}
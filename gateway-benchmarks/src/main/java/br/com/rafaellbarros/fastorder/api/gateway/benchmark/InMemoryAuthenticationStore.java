@@ -0,0 +1,32 @@
+package br.com.rafaellbarros.fastorder.api.gateway.benchmark;
+
+import br.com.rafaellbarros.fastorder.api.gateway.security.AuthSnapshot;
+import br.com.rafaellbarros.fastorder.api.gateway.security.JwtAuthenticationStore;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * L2 sem custo de serialização: mede apenas o pipeline do gateway.
+ */
+class InMemoryAuthenticationStore implements JwtAuthenticationStore {
+
+    private final Map<String, AuthSnapshot> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<AuthSnapshot> get(String tokenDigest) {
+        return Mono.justOrEmpty(entries.get(tokenDigest));
+    }
+
+    @Override
+    public Mono<Void> put(String tokenDigest, AuthSnapshot snapshot, Duration ttl) {
+        return Mono.fromRunnable(() -> entries.put(tokenDigest, snapshot));
+    }
+
+    @Override
+    public Mono<Void> delete(String tokenDigest) {
+        return Mono.fromRunnable(() -> entries.remove(tokenDigest));
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.rafaellbarros.fastorder.api.gateway.benchmark;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode com verificação RS256 local (chave gerada no setup), comparado ao
+ * parse puro do token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class JwtDecodeBenchmark {
+
+    private String token;
+    private ReactiveJwtDecoder decoder;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        RSAKey key = BenchmarkJwts.generateKey();
+
+        token = BenchmarkJwts.sign(key, "user-1");
+        decoder = NimbusReactiveJwtDecoder.withPublicKey(key.toRSAPublicKey()).build();
+    }
+
+    @Benchmark
+    public JWT parse() throws ParseException {
+        return JWTParser.parse(token);
+    }
+
+    @Benchmark
+    public Jwt decodeAndVerify() {
+        return decoder.decode(token).block();
+    }
+}
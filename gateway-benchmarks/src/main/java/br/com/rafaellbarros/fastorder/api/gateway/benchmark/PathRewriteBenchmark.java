@@ -0,0 +1,82 @@
+package br.com.rafaellbarros.fastorder.api.gateway.benchmark;
+
+import br.com.rafaellbarros.fastorder.api.gateway.routing.PathRewritePlan;
+import br.com.rafaellbarros.fastorder.api.gateway.routing.PathRewritePlans;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Remoção do id do serviço do path: {@code replaceFirst} do antigo
+ * {@code StripPrefixGlobalFilter} (regex compilada a cada chamada) contra o
+ * plano compilado por rota. As variantes {@code *Request} incluem o
+ * {@code mutate()} da requisição, como no filtro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class PathRewriteBenchmark {
+
+    private static final String ROUTE_ID = "ReactiveCompositeDiscoveryClient_USER-SERVICE";
+
+    private ServerHttpRequest request;
+    private String path;
+    private PathRewritePlans plans;
+
+    @Setup
+    public void setUp() {
+        request = MockServerHttpRequest.get("/user-service/v1/users/42/orders?page=2").build();
+        path = request.getURI().getRawPath();
+
+        // algumas dezenas de rotas, como num registro real do Eureka
+        Flux<RouteDefinition> definitions = Flux.fromStream(IntStream.range(0, 32).mapToObj(i -> {
+            RouteDefinition route = new RouteDefinition();
+            route.setId(i == 0 ? ROUTE_ID : "ReactiveCompositeDiscoveryClient_SERVICE-" + i);
+            return route;
+        }));
+
+        plans = new PathRewritePlans(() -> definitions, new SimpleMeterRegistry());
+        plans.onApplicationEvent(new RefreshRoutesResultEvent(this));
+    }
+
+    @Benchmark
+    public String legacyPath() {
+        return path.replaceFirst("/[^/]+", "");
+    }
+
+    @Benchmark
+    public String plannedPath() {
+        return plans.planFor(ROUTE_ID).apply(path);
+    }
+
+    @Benchmark
+    public ServerHttpRequest legacyRequest() {
+        String newPath = request.getURI().getRawPath().replaceFirst("/[^/]+", "");
+        return request.mutate().path(newPath.isEmpty() ? "/" : newPath).build();
+    }
+
+    @Benchmark
+    public ServerHttpRequest plannedRequest() {
+        PathRewritePlan plan = plans.planFor(ROUTE_ID);
+        return request.mutate().path(plan.apply(request.getURI().getRawPath())).build();
+    }
+}
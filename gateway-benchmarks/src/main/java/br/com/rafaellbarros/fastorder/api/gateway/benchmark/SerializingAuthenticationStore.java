@@ -0,0 +1,39 @@
+package br.com.rafaellbarros.fastorder.api.gateway.benchmark;
+
+import br.com.rafaellbarros.fastorder.api.gateway.security.AuthSnapshot;
+import br.com.rafaellbarros.fastorder.api.gateway.security.AuthSnapshotRedisSerializer;
+import br.com.rafaellbarros.fastorder.api.gateway.security.JwtAuthenticationStore;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Substituto do Redis que guarda os bytes produzidos pelo
+ * {@link AuthSnapshotRedisSerializer}: inclui o custo de (de)serialização,
+ * sem a rede.
+ */
+class SerializingAuthenticationStore implements JwtAuthenticationStore {
+
+    private final AuthSnapshotRedisSerializer serializer = new AuthSnapshotRedisSerializer();
+    private final Map<String, byte[]> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<AuthSnapshot> get(String tokenDigest) {
+        return Mono.fromSupplier(() -> {
+            byte[] bytes = entries.get(tokenDigest);
+            return bytes != null ? serializer.deserialize(bytes) : null;
+        });
+    }
+
+    @Override
+    public Mono<Void> put(String tokenDigest, AuthSnapshot snapshot, Duration ttl) {
+        return Mono.fromRunnable(() -> entries.put(tokenDigest, serializer.serialize(snapshot)));
+    }
+
+    @Override
+    public Mono<Void> delete(String tokenDigest) {
+        return Mono.fromRunnable(() -> entries.remove(tokenDigest));
+    }
+}
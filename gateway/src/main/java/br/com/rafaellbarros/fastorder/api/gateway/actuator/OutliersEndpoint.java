@@ -0,0 +1,35 @@
+package br.com.rafaellbarros.fastorder.api.gateway.actuator;
+
+import br.com.rafaellbarros.fastorder.api.gateway.loadbalancer.OutlierDetector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * /actuator/outliers — falhas seguidas, ejeções e tempo restante de ejeção
+ * por instância ({@code host:port}). {@code ejected=true} lista só as que
+ * estão fora do pool agora.
+ */
+@Component
+@Endpoint(id = "outliers")
+@RequiredArgsConstructor
+public class OutliersEndpoint {
+
+    private final OutlierDetector detector;
+
+    @ReadOperation
+    public List<OutlierDetector.OutlierState> outliers(@Nullable Boolean ejected) {
+
+        Stream<OutlierDetector.OutlierState> states = detector.snapshot().stream();
+
+        if (Boolean.TRUE.equals(ejected)) {
+            states = states.filter(state -> state.ejectedForMillis() > 0);
+        }
+        return states.toList();
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.rafaellbarros.fastorder.api.gateway.actuator;
+
+import br.com.rafaellbarros.fastorder.api.gateway.support.ExchangeRecord;
+import br.com.rafaellbarros.fastorder.api.gateway.support.ExchangeRingBuffer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * /actuator/recentexchanges — últimas trocas guardadas no {@link ExchangeRingBuffer}.
+ * <p>
+ * Filtros opcionais: {@code minStatus} (ex.: 500), {@code slowest} (as N mais
+ * lentas) e {@code limit} (as N mais recentes).
+ */
+@Component
+@Endpoint(id = "recentexchanges")
+@RequiredArgsConstructor
+public class RecentExchangesEndpoint {
+
+    private final ExchangeRingBuffer recentExchanges;
+
+    @ReadOperation
+    public RecentExchanges exchanges(@Nullable Integer minStatus,
+                                     @Nullable Integer slowest,
+                                     @Nullable Integer limit) {
+
+        Stream<ExchangeRecord> records = recentExchanges.snapshot().stream();
+
+        if (minStatus != null) {
+            records = records.filter(record -> record.status() >= minStatus);
+        }
+
+        if (slowest != null) {
+            records = records
+                    .sorted(Comparator.comparingLong(ExchangeRecord::latencyMillis).reversed())
+                    .limit(slowest);
+        } else if (limit != null) {
+            records = records.limit(limit);
+        }
+
+        return new RecentExchanges(recentExchanges.capacity(), recentExchanges.recorded(), records.toList());
+    }
+
+    public record RecentExchanges(int capacity, long recorded, List<ExchangeRecord> exchanges) {
+    }
+}
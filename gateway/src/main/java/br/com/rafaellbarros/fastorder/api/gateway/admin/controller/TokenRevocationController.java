@@ -0,0 +1,39 @@
+package br.com.rafaellbarros.fastorder.api.gateway.admin.controller;
+
+import br.com.rafaellbarros.fastorder.api.gateway.dto.request.TokenRevocationRequestDTO;
+import br.com.rafaellbarros.fastorder.api.gateway.security.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/admin/auth/revocations")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@ConditionalOnProperty(name = "fastorder.gateway.auth.revocation.enabled", havingValue = "true", matchIfMissing = true)
+public class TokenRevocationController {
+
+    private final TokenRevocationService service;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Mono<Void> revoke(@RequestBody TokenRevocationRequestDTO dto) {
+
+        boolean hasToken = StringUtils.hasText(dto.getToken());
+        boolean hasSubject = StringUtils.hasText(dto.getSubject());
+
+        if (hasToken == hasSubject) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Informe apenas um entre token e subject"));
+        }
+
+        return hasToken
+                ? service.revokeToken(dto.getToken())
+                : service.revokeSubject(dto.getSubject());
+    }
+}
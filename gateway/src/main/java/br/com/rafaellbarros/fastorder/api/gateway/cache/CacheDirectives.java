@@ -0,0 +1,57 @@
+package br.com.rafaellbarros.fastorder.api.gateway.cache;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Diretivas de {@code Cache-Control} que o cache de borda respeita.
+ *
+ * @param maxAge  {@code s-maxage} se presente, senão {@code max-age}; -1 se ausente
+ */
+public record CacheDirectives(boolean noStore, boolean noCache, boolean isPrivate, long maxAge) {
+
+    public static final CacheDirectives NONE = new CacheDirectives(false, false, false, -1);
+
+    public static CacheDirectives parse(List<String> headerValues) {
+
+        if (headerValues == null || headerValues.isEmpty()) {
+            return NONE;
+        }
+
+        boolean noStore = false;
+        boolean noCache = false;
+        boolean isPrivate = false;
+        long maxAge = -1;
+        long sharedMaxAge = -1;
+
+        for (String headerValue : headerValues) {
+            for (String directive : headerValue.split(",")) {
+
+                String token = directive.trim().toLowerCase(Locale.ROOT);
+
+                if (token.equals("no-store")) {
+                    noStore = true;
+                } else if (token.startsWith("no-cache")) {
+                    noCache = true;
+                } else if (token.startsWith("private")) {
+                    isPrivate = true;
+                } else if (token.startsWith("s-maxage=")) {
+                    sharedMaxAge = seconds(token.substring("s-maxage=".length()));
+                } else if (token.startsWith("max-age=")) {
+                    maxAge = seconds(token.substring("max-age=".length()));
+                }
+            }
+        }
+
+        return new CacheDirectives(noStore, noCache, isPrivate, sharedMaxAge >= 0 ? sharedMaxAge : maxAge);
+    }
+
+    private static long seconds(String value) {
+        try {
+            return Long.parseLong(value.replace("\"", "").trim());
+        } catch (NumberFormatException e) {
+            // valor inválido: trata como expirado (RFC 9111, 4.2.1)
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.rafaellbarros.fastorder.api.gateway.cache;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.EdgeCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Cache de respostas em dois níveis: L1 em memória (Caffeine, limitado pelo
+ * tamanho dos corpos) na frente do {@link EdgeCacheStore} no Redis. Como no
+ * cache de autenticação, falhas do Redis são tratadas como miss.
+ */
+@Slf4j
+@Component
+public class EdgeCache {
+
+    /**
+     * Custo fixo estimado por entrada (chave, headers, objetos), somado ao corpo.
+     */
+    private static final int ENTRY_OVERHEAD = 512;
+
+    private final Cache<String, EdgeCacheEntry> local;
+    private final EdgeCacheStore store;
+    private final boolean redisEnabled;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    public EdgeCache(EdgeCacheProperties properties, EdgeCacheStore store, MeterRegistry meterRegistry) {
+
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(properties.getLocal().getMaximumWeight())
+                .weigher((String key, EdgeCacheEntry entry) -> entry.body().length + ENTRY_OVERHEAD)
+                .expireAfter(new EntryLifetimeExpiry())
+                .build();
+
+        this.store = store;
+        this.redisEnabled = properties.getRedis().isEnabled();
+
+        this.localHits = counter(meterRegistry, "local", "hit");
+        this.localMisses = counter(meterRegistry, "local", "miss");
+        this.redisHits = counter(meterRegistry, "redis", "hit");
+        this.redisMisses = counter(meterRegistry, "redis", "miss");
+    }
+
+    public Mono<EdgeCacheEntry> get(String key) {
+        return Mono.defer(() -> {
+            EdgeCacheEntry entry = local.getIfPresent(key);
+
+            if (entry != null && entry.isFresh(Instant.now())) {
+                localHits.increment();
+                return Mono.just(entry);
+            }
+
+            localMisses.increment();
+            return redisEnabled ? getRemote(key) : Mono.empty();
+        });
+    }
+
+    public Mono<Void> put(String key, EdgeCacheEntry entry) {
+        return Mono.defer(() -> {
+            local.put(key, entry);
+
+            Duration ttl = entry.remainingLifetime(Instant.now());
+
+            if (!redisEnabled || ttl.isNegative() || ttl.isZero()) {
+                return Mono.empty();
+            }
+
+            return store.put(key, entry, ttl)
+                    .onErrorResume(error -> {
+                        log.warn("Falha ao gravar cache de borda no Redis: {}", error.getMessage());
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    private Mono<EdgeCacheEntry> getRemote(String key) {
+        return store.get(key)
+                .onErrorResume(error -> {
+                    log.warn("Falha ao consultar cache de borda no Redis: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .filter(entry -> entry.isFresh(Instant.now()))
+                .doOnNext(found -> {
+                    redisHits.increment();
+                    local.put(key, found);
+                })
+                .switchIfEmpty(Mono.fromRunnable(redisMisses::increment));
+    }
+
+    private static Counter counter(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("gateway.edge.cache")
+                .description("Consultas ao cache de borda por nível")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+}
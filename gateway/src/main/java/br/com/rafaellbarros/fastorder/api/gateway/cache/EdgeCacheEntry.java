@@ -0,0 +1,55 @@
+package br.com.rafaellbarros.fastorder.api.gateway.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Resposta guardada no cache de borda: status, headers relevantes, ETag
+ * (da origem ou calculado sobre o corpo) e corpo.
+ */
+public record EdgeCacheEntry(
+        int status,
+        Map<String, String> headers,
+        String etag,
+        byte[] body,
+        Instant storedAt,
+        Instant expiresAt
+) {
+
+    public boolean isFresh(Instant now) {
+        return now.isBefore(expiresAt);
+    }
+
+    public Duration remainingLifetime(Instant now) {
+        return Duration.between(now, expiresAt);
+    }
+
+    public long ageSeconds(Instant now) {
+        return Math.max(0, Duration.between(storedAt, now).getSeconds());
+    }
+
+    /**
+     * Comparação fraca do {@code If-None-Match} (RFC 9110, 13.1.2).
+     */
+    public boolean matches(String ifNoneMatch) {
+
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+
+        String ours = opaque(etag);
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || opaque(value).equals(ours)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.rafaellbarros.fastorder.api.gateway.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Codificação binária do {@link EdgeCacheEntry}:
+ * versão, status, headers, etag, instantes e corpo.
+ */
+public class EdgeCacheEntryRedisSerializer implements RedisSerializer<EdgeCacheEntry> {
+
+    private static final byte VERSION = 1;
+
+    @Override
+    public byte[] serialize(EdgeCacheEntry entry) {
+
+        if (entry == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(entry.body().length + 256);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeShort(entry.status());
+
+            out.writeShort(entry.headers().size());
+            for (Map.Entry<String, String> header : entry.headers().entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeUTF(header.getValue());
+            }
+
+            out.writeUTF(entry.etag());
+            out.writeLong(entry.storedAt().toEpochMilli());
+            out.writeLong(entry.expiresAt().toEpochMilli());
+
+            out.writeInt(entry.body().length);
+            out.write(entry.body());
+        } catch (IOException e) {
+            throw new SerializationException("Falha ao serializar EdgeCacheEntry", e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public EdgeCacheEntry deserialize(byte[] bytes) {
+
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new SerializationException("Versão de EdgeCacheEntry não suportada: " + version);
+            }
+
+            int status = in.readUnsignedShort();
+
+            int headerCount = in.readUnsignedShort();
+            Map<String, String> headers = new LinkedHashMap<>(headerCount * 2);
+            for (int i = 0; i < headerCount; i++) {
+                headers.put(in.readUTF(), in.readUTF());
+            }
+
+            String etag = in.readUTF();
+            Instant storedAt = Instant.ofEpochMilli(in.readLong());
+            Instant expiresAt = Instant.ofEpochMilli(in.readLong());
+
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+
+            return new EdgeCacheEntry(status, headers, etag, body, storedAt, expiresAt);
+        } catch (IOException e) {
+            throw new SerializationException("Falha ao desserializar EdgeCacheEntry", e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.rafaellbarros.fastorder.api.gateway.cache;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.EdgeCacheProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.support.ContentEncoding;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.Base64;
+
+/**
+ * Chave do cache de borda: SHA-256 (Base64 URL-safe) de serviço, path, query,
+ * {@code Accept}, codificação negociada a partir do {@code Accept-Encoding}
+ * e escopo do usuário.
+ * <p>
+ * Como a compressão do gateway roda antes da captura do cache, cada
+ * codificação (gzip, deflate, identity) fica guardada já comprimida; usar a
+ * codificação negociada, e não o header cru, evita uma cópia por variação de
+ * {@code Accept-Encoding} ("gzip, deflate, br", "gzip, br"...).
+ */
+public final class EdgeCacheKeys {
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    });
+
+    private EdgeCacheKeys() {
+    }
+
+    /**
+     * Chave da requisição do exchange, com o escopo do usuário autenticado
+     * ({@code anonymous} sem usuário).
+     */
+    public static Mono<String> of(ServerWebExchange exchange, String serviceId, EdgeCacheProperties.Scope scope) {
+        return exchange.getPrincipal()
+                .map(principal -> scope(principal, scope))
+                .defaultIfEmpty(ANONYMOUS)
+                .map(principalScope -> of(serviceId, exchange.getRequest(), principalScope));
+    }
+
+    public static String of(String serviceId, ServerHttpRequest request, String scope) {
+
+        HttpHeaders headers = request.getHeaders();
+
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+
+        update(digest, serviceId);
+        update(digest, request.getURI().getRawPath());
+        update(digest, request.getURI().getRawQuery());
+        update(digest, headers.getFirst(HttpHeaders.ACCEPT));
+        update(digest, ContentEncoding.negotiate(headers.getFirst(HttpHeaders.ACCEPT_ENCODING)).token());
+        update(digest, scope);
+
+        return ENCODER.encodeToString(digest.digest());
+    }
+
+    /**
+     * ETag forte derivado do corpo, para respostas cuja origem não envia um.
+     */
+    public static String etagOf(byte[] body) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return "\"" + ENCODER.encodeToString(digest.digest(body)).substring(0, 27) + "\"";
+    }
+
+    private static String scope(Principal principal, EdgeCacheProperties.Scope scope) {
+
+        if (scope == EdgeCacheProperties.Scope.PRINCIPAL || !(principal instanceof Authentication authentication)) {
+            return "principal:" + principal.getName();
+        }
+
+        return "authorities:" + String.join(",", authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .toList());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        // separador: evita que ("ab", "c") e ("a", "bc") gerem a mesma chave
+        digest.update((byte) 0);
+    }
+}
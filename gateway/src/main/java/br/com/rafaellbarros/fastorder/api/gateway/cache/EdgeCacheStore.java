@@ -0,0 +1,15 @@
+package br.com.rafaellbarros.fastorder.api.gateway.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Armazenamento compartilhado (L2) do cache de borda.
+ */
+public interface EdgeCacheStore {
+
+    Mono<EdgeCacheEntry> get(String key);
+
+    Mono<Void> put(String key, EdgeCacheEntry entry, Duration ttl);
+}
@@ -0,0 +1,26 @@
+package br.com.rafaellbarros.fastorder.api.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Instant;
+
+/**
+ * Expira a entrada no {@code expiresAt} calculado ao gravá-la.
+ */
+final class EntryLifetimeExpiry implements Expiry<String, EdgeCacheEntry> {
+
+    @Override
+    public long expireAfterCreate(String key, EdgeCacheEntry entry, long currentTime) {
+        return Math.max(0, entry.remainingLifetime(Instant.now()).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, EdgeCacheEntry entry, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, entry, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, EdgeCacheEntry entry, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
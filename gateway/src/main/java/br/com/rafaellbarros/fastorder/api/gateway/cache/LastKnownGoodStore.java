@@ -0,0 +1,44 @@
+package br.com.rafaellbarros.fastorder.api.gateway.cache;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.LastKnownGoodProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Última resposta boa de cada GET elegível, só em memória, limitada pelo
+ * tamanho dos corpos. Cada entrada expira em {@code max-stale} do serviço.
+ */
+@Component
+public class LastKnownGoodStore {
+
+    /**
+     * Custo fixo estimado por entrada (chave, headers, objetos), somado ao corpo.
+     */
+    private static final int ENTRY_OVERHEAD = 512;
+
+    private final Cache<String, EdgeCacheEntry> entries;
+
+    public LastKnownGoodStore(LastKnownGoodProperties properties) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumBytes())
+                .weigher((String key, EdgeCacheEntry entry) -> entry.body().length + ENTRY_OVERHEAD)
+                .expireAfter(new EntryLifetimeExpiry())
+                .build();
+    }
+
+    public void put(String key, EdgeCacheEntry entry) {
+        entries.put(key, entry);
+    }
+
+    /**
+     * @return a entrada, ou {@code null} se não existe ou passou de {@code max-stale}
+     */
+    public EdgeCacheEntry get(String key) {
+
+        EdgeCacheEntry entry = entries.getIfPresent(key);
+        return entry != null && entry.isFresh(Instant.now()) ? entry : null;
+    }
+}
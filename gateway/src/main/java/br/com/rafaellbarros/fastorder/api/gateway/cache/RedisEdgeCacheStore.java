@@ -0,0 +1,29 @@
+package br.com.rafaellbarros.fastorder.api.gateway.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+public class RedisEdgeCacheStore implements EdgeCacheStore {
+
+    private static final String KEY_PREFIX = "gateway:edge:";
+
+    private final ReactiveRedisTemplate<String, EdgeCacheEntry> edgeCacheRedisTemplate;
+
+    @Override
+    public Mono<EdgeCacheEntry> get(String key) {
+        return edgeCacheRedisTemplate.opsForValue().get(KEY_PREFIX + key);
+    }
+
+    @Override
+    public Mono<Void> put(String key, EdgeCacheEntry entry, Duration ttl) {
+        return edgeCacheRedisTemplate.opsForValue()
+                .set(KEY_PREFIX + key, entry, ttl)
+                .then();
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.rafaellbarros.fastorder.api.gateway.concurrency;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.ConcurrencyLimitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de requisições simultâneas para um serviço, ajustado a cada resposta
+ * pelo {@link LimitAlgorithm} configurado.
+ * <p>
+ * A entrada ({@link #tryAcquire()}) é só um CAS no contador de requisições em
+ * andamento; o ajuste do limite, feito na saída, é serializado.
+ */
+public final class AdaptiveLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LimitAlgorithm algorithm;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private volatile double limit;
+
+    public AdaptiveLimiter(ConcurrencyLimitProperties.Limit properties) {
+        this(LimitAlgorithm.of(properties), properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit());
+    }
+
+    AdaptiveLimiter(LimitAlgorithm algorithm, int initialLimit, int minLimit, int maxLimit) {
+        this.algorithm = algorithm;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = clamp(initialLimit);
+    }
+
+    /**
+     * @return a permissão, que deve ser liberada com um dos métodos de
+     * {@link Permit}, ou {@code null} se o limite foi atingido
+     */
+    public Permit tryAcquire() {
+
+        int current;
+
+        do {
+            current = inFlight.get();
+
+            if (current >= (int) limit) {
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        return new Permit(System.nanoTime(), current + 1);
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    synchronized void update(long rttNanos, int inFlightAtStart, boolean dropped) {
+        limit = clamp(algorithm.update(limit, rttNanos, inFlightAtStart, dropped));
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Resposta normal: o RTT entra no cálculo do limite.
+         */
+        public void success() {
+            inFlight.decrementAndGet();
+            update(System.nanoTime() - startNanos, inFlightAtStart, false);
+        }
+
+        /**
+         * Erro, timeout ou recusa do serviço: sinal de sobrecarga.
+         */
+        public void dropped() {
+            inFlight.decrementAndGet();
+            update(System.nanoTime() - startNanos, inFlightAtStart, true);
+        }
+
+        /**
+         * Requisição cancelada pelo cliente: libera sem ajustar o limite.
+         */
+        public void ignore() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.rafaellbarros.fastorder.api.gateway.concurrency;
+
+/**
+ * Aumento aditivo, redução multiplicativa: +1 por resposta rápida com o limite
+ * em uso, {@code limit * backoffRatio} por erro ou resposta acima de
+ * {@code latencyThresholdNanos}.
+ */
+final class AimdLimit implements LimitAlgorithm {
+
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    AimdLimit(double backoffRatio, long latencyThresholdNanos) {
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+    }
+
+    @Override
+    public double update(double limit, long rttNanos, int inFlight, boolean dropped) {
+
+        if (dropped || rttNanos > latencyThresholdNanos) {
+            return limit * backoffRatio;
+        }
+
+        // só cresce se o limite atual está sendo usado
+        return inFlight * 2 >= limit ? limit + 1 : limit;
+    }
+}
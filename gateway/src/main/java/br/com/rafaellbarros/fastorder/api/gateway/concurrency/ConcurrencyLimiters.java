@@ -0,0 +1,51 @@
+package br.com.rafaellbarros.fastorder.api.gateway.concurrency;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Um {@link AdaptiveLimiter} por serviço, criado no primeiro uso, com o limite
+ * e as requisições em andamento expostos como gauges.
+ */
+@Component
+public class ConcurrencyLimiters {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimiters(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public AdaptiveLimiter limiterFor(String serviceId) {
+
+        AdaptiveLimiter limiter = limiters.get(serviceId);
+
+        return limiter != null ? limiter : limiters.computeIfAbsent(serviceId, this::create);
+    }
+
+    private AdaptiveLimiter create(String serviceId) {
+
+        AdaptiveLimiter limiter = new AdaptiveLimiter(
+                properties.getServices().getOrDefault(serviceId, properties.getDefaults()));
+
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveLimiter::limit)
+                .description("Limite adaptativo de requisições simultâneas por serviço")
+                .tag("service", serviceId)
+                .register(meterRegistry);
+
+        Gauge.builder("gateway.concurrency.inflight", limiter, AdaptiveLimiter::inFlight)
+                .description("Requisições em andamento por serviço")
+                .tag("service", serviceId)
+                .register(meterRegistry);
+
+        return limiter;
+    }
+}
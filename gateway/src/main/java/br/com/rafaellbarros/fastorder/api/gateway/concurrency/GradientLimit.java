@@ -0,0 +1,59 @@
+package br.com.rafaellbarros.fastorder.api.gateway.concurrency;
+
+/**
+ * Limite por gradiente de RTT.
+ * <p>
+ * Mantém uma média móvel longa do RTT, que aproxima a latência do serviço sem
+ * fila. Quando a amostra atual passa dela (com {@code tolerance} de folga),
+ * o gradiente {@code longRtt / rtt} fica abaixo de 1 e o limite encolhe na
+ * mesma proporção; sem aumento de latência o limite cresce
+ * {@code sqrt(limit)} por amostra, o tamanho de fila que o algoritmo aceita
+ * para continuar sondando capacidade.
+ */
+final class GradientLimit implements LimitAlgorithm {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final double tolerance;
+    private final double smoothing;
+    private final int window;
+
+    private double longRtt;
+    private int samples;
+
+    GradientLimit(double tolerance, double smoothing, int window) {
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.window = Math.max(1, window);
+    }
+
+    @Override
+    public double update(double limit, long rttNanos, int inFlight, boolean dropped) {
+
+        double rtt = Math.max(1, rttNanos);
+
+        if (!dropped) {
+            // média simples até encher a janela, depois exponencial
+            samples = Math.min(samples + 1, window);
+            longRtt += (rtt - longRtt) / samples;
+
+            // latência caiu bem abaixo da média (serviço se recuperou): acompanha mais rápido
+            if (longRtt / rtt > 2) {
+                longRtt *= 0.95;
+            }
+
+            // pouca carga: o RTT não diz nada sobre a capacidade
+            if (inFlight < limit / 2) {
+                return limit;
+            }
+        }
+
+        double gradient = dropped
+                ? MIN_GRADIENT
+                : Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / rtt));
+
+        double target = limit * gradient + Math.sqrt(limit);
+
+        return limit * (1 - smoothing) + target * smoothing;
+    }
+}
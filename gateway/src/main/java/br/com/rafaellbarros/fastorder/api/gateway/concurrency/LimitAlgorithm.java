@@ -0,0 +1,27 @@
+package br.com.rafaellbarros.fastorder.api.gateway.concurrency;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.ConcurrencyLimitProperties;
+
+/**
+ * Calcula o novo limite de concorrência a partir de uma amostra. As
+ * implementações guardam estado e não são thread-safe; o
+ * {@link AdaptiveLimiter} serializa as chamadas.
+ */
+interface LimitAlgorithm {
+
+    /**
+     * @param limit    limite atual
+     * @param rttNanos tempo da requisição
+     * @param inFlight requisições em andamento quando ela começou
+     * @param dropped  a requisição falhou ou foi recusada pelo serviço
+     * @return o novo limite, ainda sem aplicar mínimo e máximo
+     */
+    double update(double limit, long rttNanos, int inFlight, boolean dropped);
+
+    static LimitAlgorithm of(ConcurrencyLimitProperties.Limit limit) {
+        return switch (limit.getAlgorithm()) {
+            case GRADIENT -> new GradientLimit(limit.getRttTolerance(), limit.getSmoothing(), limit.getLongWindow());
+            case AIMD -> new AimdLimit(limit.getBackoffRatio(), limit.getLatencyThreshold().toNanos());
+        };
+    }
+}
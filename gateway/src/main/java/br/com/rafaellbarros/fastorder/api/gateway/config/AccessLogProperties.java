@@ -0,0 +1,29 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.access-log")
+public class AccessLogProperties {
+
+    /**
+     * Liga o access log; a latência é sempre medida em "gateway.http.requests".
+     */
+    private boolean enabled = false;
+
+    /**
+     * Fração das requisições registradas (0.0 a 1.0).
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Registra toda resposta 5xx, independentemente da amostragem.
+     */
+    private boolean alwaysLogServerErrors = true;
+
+    /**
+     * Capacidade da fila de escrita assíncrona; quando cheia, o registro é descartado.
+     */
+    private int queueCapacity = 1024;
+}
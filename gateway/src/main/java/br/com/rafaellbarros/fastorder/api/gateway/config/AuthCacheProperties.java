@@ -0,0 +1,60 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.auth.cache")
+public class AuthCacheProperties {
+
+    /**
+     * Cache L1 em memória, consultado antes do Redis ("auth:jwt").
+     */
+    private Local local = new Local();
+
+    /**
+     * Cache L2 compartilhado no Redis.
+     */
+    private Redis redis = new Redis();
+
+    /**
+     * Cache negativo de tokens rejeitados (assinatura inválida, expirados, malformados).
+     */
+    private Negative negative = new Negative();
+
+    @Data
+    public static class Local {
+
+        private long maximumSize = 10_000;
+
+        /**
+         * TTL máximo da entrada; nunca ultrapassa o "exp" do token.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Redis {
+
+        /**
+         * TTL máximo da entrada; o TTL efetivo é o tempo restante até o "exp" do token.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+
+        /**
+         * Claims (texto) copiadas do token para o snapshot guardado no Redis.
+         */
+        private List<String> claims = List.of("preferred_username", "email", "name", "azp");
+    }
+
+    @Data
+    public static class Negative {
+
+        private long maximumSize = 50_000;
+
+        private Duration ttl = Duration.ofSeconds(60);
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    /**
+     * Configuração dos serviços sem entrada em {@link #services}.
+     */
+    private Breaker defaults = new Breaker();
+
+    /**
+     * Configuração por serviço (id do discovery, em minúsculas) ou por id de
+     * rota criada pela API de administração.
+     */
+    private Map<String, Breaker> services = new HashMap<>();
+
+    @Data
+    public static class Breaker {
+
+        private int slidingWindowSize = 20;
+
+        private int minimumNumberOfCalls = 10;
+
+        private float failureRateThreshold = 50;
+
+        private Duration waitDurationInOpenState = Duration.ofSeconds(15);
+
+        private int permittedNumberOfCallsInHalfOpenState = 5;
+
+        /**
+         * Tempo máximo da chamada (time limiter); acima dele conta como falha
+         * e a requisição vai para o fallback.
+         */
+        private Duration timeout = Duration.ofSeconds(3);
+    }
+}
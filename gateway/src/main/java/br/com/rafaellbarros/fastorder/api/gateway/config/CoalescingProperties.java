@@ -0,0 +1,46 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Respostas maiores que isso não são compartilhadas; quem aguardava faz a
+     * própria chamada.
+     */
+    private int maxBodyBytes = 1024 * 1024;
+
+    /**
+     * Quanto uma requisição aguarda a chamada em andamento antes de seguir sozinha.
+     */
+    private Duration maxWait = Duration.ofSeconds(5);
+
+    /**
+     * Serviços (id do discovery, em minúsculas) com agrupamento de GETs.
+     */
+    private Map<String, Service> services = new HashMap<>();
+
+    @Data
+    public static class Service {
+
+        /**
+         * Padrões de path (já sem o id do serviço) elegíveis.
+         */
+        private List<String> paths = List.of("/**");
+
+        /**
+         * Quem pode receber a mesma resposta (como no cache de borda).
+         */
+        private EdgeCacheProperties.Scope scope = EdgeCacheProperties.Scope.AUTHORITIES;
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.compression")
+public class CompressionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Respostas com {@code Content-Length} menor que isso seguem sem compressão
+     * (o ganho não paga o custo). Respostas sem tamanho conhecido são comprimidas.
+     */
+    private int minResponseBytes = 1024;
+
+    /**
+     * Nível do deflate (1 = mais rápido, 9 = menor saída).
+     */
+    private int level = 5;
+
+    /**
+     * Tamanho máximo de cada buffer de saída do compressor.
+     */
+    private int chunkSize = 8 * 1024;
+
+    /**
+     * Tipos comprimidos; imagens, vídeos e arquivos já compactados ficam de fora.
+     */
+    private List<String> contentTypes = List.of(
+            "application/json", "application/*+json", "application/problem+json",
+            "application/xml", "application/*+xml", "application/javascript",
+            "text/*");
+}
@@ -0,0 +1,82 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Limite aplicado aos serviços sem entrada em {@link #services}.
+     */
+    private Limit defaults = new Limit();
+
+    /**
+     * Limite por serviço (id do discovery, em minúsculas).
+     */
+    private Map<String, Limit> services = new HashMap<>();
+
+    public enum Algorithm {
+
+        /**
+         * Compara o RTT recente com o de longo prazo: cresce enquanto a
+         * latência não sobe e encolhe na proporção em que a fila se forma.
+         */
+        GRADIENT,
+
+        /**
+         * Cresce de um em um e corta por {@code backoff-ratio} a cada erro ou
+         * resposta acima de {@code latency-threshold}.
+         */
+        AIMD
+    }
+
+    @Data
+    public static class Limit {
+
+        private Algorithm algorithm = Algorithm.GRADIENT;
+
+        /**
+         * Requisições simultâneas permitidas antes da primeira medição.
+         */
+        private int initialLimit = 20;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 500;
+
+        /**
+         * Peso de cada ajuste no limite atual (0..1); valores menores reagem
+         * mais devagar e oscilam menos.
+         */
+        private double smoothing = 0.2;
+
+        /**
+         * Quanto o RTT recente pode superar o de longo prazo antes do
+         * gradiente encolher o limite.
+         */
+        private double rttTolerance = 1.5;
+
+        /**
+         * Amostras na média do RTT de longo prazo (gradiente).
+         */
+        private int longWindow = 600;
+
+        /**
+         * Fator aplicado ao limite a cada erro (AIMD).
+         */
+        private double backoffRatio = 0.9;
+
+        /**
+         * Respostas mais lentas que isso contam como erro (AIMD).
+         */
+        private Duration latencyThreshold = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.edge-cache")
+public class EdgeCacheProperties {
+
+    /**
+     * Desligado por padrão: escritas nos serviços não invalidam o cache, então
+     * uma leitura pode ficar até um TTL atrás da escrita.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Respostas maiores que isso não são cacheadas.
+     */
+    private int maxBodyBytes = 256 * 1024;
+
+    private Local local = new Local();
+
+    private Redis redis = new Redis();
+
+    /**
+     * Serviços (id do discovery, em minúsculas) que usam o cache; os demais
+     * passam direto.
+     */
+    private Map<String, Service> services = new HashMap<>();
+
+    @Data
+    public static class Local {
+
+        /**
+         * Limite do L1 em bytes de corpo.
+         */
+        private long maximumWeight = 64L * 1024 * 1024;
+    }
+
+    @Data
+    public static class Redis {
+
+        private boolean enabled = true;
+    }
+
+    @Data
+    public static class Service {
+
+        /**
+         * TTL máximo; {@code max-age}/{@code s-maxage} da resposta podem reduzi-lo.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * Padrões de path (já sem o id do serviço) elegíveis para cache.
+         */
+        private List<String> paths = List.of("/**");
+
+        /**
+         * Quem compartilha uma entrada: usuários com as mesmas authorities, ou
+         * somente o próprio usuário.
+         */
+        private Scope scope = Scope.AUTHORITIES;
+    }
+
+    public enum Scope {
+        AUTHORITIES,
+        PRINCIPAL
+    }
+}
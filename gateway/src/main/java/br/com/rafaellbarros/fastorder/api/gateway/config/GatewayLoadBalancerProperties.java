@@ -0,0 +1,40 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.load-balancer")
+public class GatewayLoadBalancerProperties {
+
+    private Algorithm algorithm = Algorithm.PEAK_EWMA;
+
+    /**
+     * Tempo para o peso de uma amostra de latência cair a ~37% (1/e); também
+     * é o quanto uma instância lenta demora para voltar a ser escolhida sem
+     * novas amostras.
+     */
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    /**
+     * Latência registrada para chamadas com erro ou 5xx, para que a instância
+     * deixe de ser escolhida mesmo quando falha rápido.
+     */
+    private Duration failurePenalty = Duration.ofSeconds(1);
+
+    public enum Algorithm {
+
+        /**
+         * Duas instâncias sorteadas, vence a de menor latência (EWMA com pico)
+         * multiplicada pelas requisições em andamento.
+         */
+        PEAK_EWMA,
+
+        /**
+         * Round robin padrão do Spring Cloud LoadBalancer.
+         */
+        ROUND_ROBIN
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.hedging")
+public class HedgingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Hedges permitidos por GET elegível (0.05 = no máximo 5% a mais de
+     * chamadas), somando todos os serviços.
+     */
+    private double budgetRatio = 0.05;
+
+    /**
+     * Rajada máxima de hedges acima da proporção.
+     */
+    private int budgetCapacity = 20;
+
+    /**
+     * Serviços (id do discovery, em minúsculas) com hedge; os demais nunca
+     * recebem segunda tentativa.
+     */
+    private Map<String, Service> services = new HashMap<>();
+
+    @Data
+    public static class Service {
+
+        /**
+         * Padrões de path (já sem o id do serviço) elegíveis.
+         */
+        private List<String> paths = List.of("/**");
+
+        /**
+         * Percentil da latência do serviço a partir do qual a segunda
+         * tentativa é enviada.
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Atraso usado enquanto não há amostras suficientes.
+         */
+        private Duration initialDelay = Duration.ofMillis(200);
+
+        private Duration minDelay = Duration.ofMillis(10);
+
+        private Duration maxDelay = Duration.ofSeconds(1);
+
+        /**
+         * Amostras necessárias antes de usar o percentil medido.
+         */
+        private int minSamples = 50;
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import br.com.rafaellbarros.fastorder.api.gateway.security.AuthMetrics;
+import br.com.rafaellbarros.fastorder.api.gateway.security.JwksKeyring;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+@Configuration
+public class JwtDecoderConfig {
+
+    /**
+     * Decoder que valida a assinatura localmente com as chaves do {@link JwksKeyring},
+     * sem depender do Keycloak no caminho da requisição.
+     */
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(JwksKeyring keyring,
+                                         OAuth2ResourceServerProperties properties,
+                                         AuthMetrics metrics) {
+
+        NimbusReactiveJwtDecoder decoder = new NimbusReactiveJwtDecoder(
+                jwt -> metrics.timeVerify(keyring.verify(jwt)));
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(properties.getJwt().getIssuerUri()));
+        return decoder;
+    }
+}
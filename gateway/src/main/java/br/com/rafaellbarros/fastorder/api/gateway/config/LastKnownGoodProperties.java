@@ -0,0 +1,52 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.last-known-good")
+public class LastKnownGoodProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Limite da memória em bytes de corpo; acima dele as entradas menos
+     * usadas são descartadas.
+     */
+    private long maximumBytes = 32L * 1024 * 1024;
+
+    /**
+     * Respostas maiores que isso não são guardadas.
+     */
+    private int maxBodyBytes = 256 * 1024;
+
+    /**
+     * Serviços (id do discovery, em minúsculas) que guardam a última resposta
+     * boa; os demais recebem o fallback normal.
+     */
+    private Map<String, Service> services = new HashMap<>();
+
+    @Data
+    public static class Service {
+
+        /**
+         * Padrões de path (já sem o id do serviço) elegíveis.
+         */
+        private List<String> paths = List.of("/**");
+
+        /**
+         * Idade máxima de uma resposta servida no lugar do fallback.
+         */
+        private Duration maxStale = Duration.ofMinutes(5);
+
+        /**
+         * Quem compartilha uma entrada, como no cache de borda.
+         */
+        private EdgeCacheProperties.Scope scope = EdgeCacheProperties.Scope.AUTHORITIES;
+    }
+}
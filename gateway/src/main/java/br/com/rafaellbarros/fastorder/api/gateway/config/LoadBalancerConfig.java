@@ -0,0 +1,10 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import br.com.rafaellbarros.fastorder.api.gateway.loadbalancer.GatewayLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@LoadBalancerClients(defaultConfiguration = GatewayLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
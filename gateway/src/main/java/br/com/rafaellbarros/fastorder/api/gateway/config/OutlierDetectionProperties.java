@@ -0,0 +1,33 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.outlier-detection")
+public class OutlierDetectionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Falhas seguidas (5xx ou erro de conexão) que ejetam a instância.
+     */
+    private int consecutiveFailures = 5;
+
+    /**
+     * Primeira ejeção; cada ejeção seguinte dobra o tempo, até
+     * {@code maxEjectionTime}. Cada {@code baseEjectionTime} sem nova ejeção
+     * desconta uma dobra.
+     */
+    private Duration baseEjectionTime = Duration.ofSeconds(30);
+
+    private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+    /**
+     * Parcela máxima das instâncias de um serviço fora do pool ao mesmo tempo.
+     * Com uma instância só, ela nunca é ejetada.
+     */
+    private int maxEjectionPercent = 50;
+}
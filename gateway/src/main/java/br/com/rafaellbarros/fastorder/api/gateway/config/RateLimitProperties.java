@@ -0,0 +1,61 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Limite aplicado aos serviços sem entrada em {@link #services}.
+     */
+    private Limit defaults = new Limit();
+
+    /**
+     * Limite por serviço (id do discovery, em minúsculas).
+     */
+    private Map<String, Limit> services = new HashMap<>();
+
+    /**
+     * Permissões retiradas do Redis de uma vez por chave; o nó as gasta
+     * localmente antes de voltar ao Redis.
+     */
+    private int batchSize = 10;
+
+    /**
+     * Validade de um lote local; permissões não usadas nesse prazo são
+     * descartadas, para que nenhum nó segure capacidade por muito tempo.
+     */
+    private Duration leaseTtl = Duration.ofSeconds(1);
+
+    /**
+     * Quantidade máxima de chaves (usuário + serviço) com lote local.
+     */
+    private long maximumKeys = 100_000;
+
+    /**
+     * Deixa a requisição passar quando o Redis está indisponível.
+     */
+    private boolean failOpen = true;
+
+    @Data
+    public static class Limit {
+
+        /**
+         * Permissões repostas por segundo.
+         */
+        private int replenishRate = 50;
+
+        /**
+         * Tamanho máximo do bucket (rajada).
+         */
+        private int burstCapacity = 100;
+    }
+}
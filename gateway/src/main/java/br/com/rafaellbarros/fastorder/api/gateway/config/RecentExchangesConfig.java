@@ -0,0 +1,14 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import br.com.rafaellbarros.fastorder.api.gateway.support.ExchangeRingBuffer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RecentExchangesConfig {
+
+    @Bean
+    public ExchangeRingBuffer recentExchanges(ResponseLoggingProperties properties) {
+        return new ExchangeRingBuffer(properties.getRecent().getCapacity());
+    }
+}
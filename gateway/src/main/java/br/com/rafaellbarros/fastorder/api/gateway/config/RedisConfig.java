@@ -1,11 +1,19 @@
 package br.com.rafaellbarros.fastorder.api.gateway.config;
 
+import br.com.rafaellbarros.fastorder.api.gateway.cache.EdgeCacheEntry;
+import br.com.rafaellbarros.fastorder.api.gateway.cache.EdgeCacheEntryRedisSerializer;
+import br.com.rafaellbarros.fastorder.api.gateway.security.AuthSnapshot;
+import br.com.rafaellbarros.fastorder.api.gateway.security.AuthSnapshotRedisSerializer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
 
@@ -26,4 +34,28 @@ public class RedisConfig {
                 .cacheDefaults(config)
                 .build();
     }
+
+    @Bean
+    public ReactiveRedisTemplate<String, AuthSnapshot> authSnapshotRedisTemplate(
+            ReactiveRedisConnectionFactory factory) {
+
+        RedisSerializationContext<String, AuthSnapshot> context = RedisSerializationContext
+                .<String, AuthSnapshot>newSerializationContext(RedisSerializer.string())
+                .value(new AuthSnapshotRedisSerializer())
+                .build();
+
+        return new ReactiveRedisTemplate<>(factory, context);
+    }
+
+    @Bean
+    public ReactiveRedisTemplate<String, EdgeCacheEntry> edgeCacheRedisTemplate(
+            ReactiveRedisConnectionFactory factory) {
+
+        RedisSerializationContext<String, EdgeCacheEntry> context = RedisSerializationContext
+                .<String, EdgeCacheEntry>newSerializationContext(RedisSerializer.string())
+                .value(new EdgeCacheEntryRedisSerializer())
+                .build();
+
+        return new ReactiveRedisTemplate<>(factory, context);
+    }
 }
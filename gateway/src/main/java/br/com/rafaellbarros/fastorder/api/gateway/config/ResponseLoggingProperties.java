@@ -0,0 +1,56 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.response-logging")
+public class ResponseLoggingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Fração das respostas registradas (0.0 a 1.0).
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Taxa por id de rota; sobrepõe {@link #sampleRate}.
+     */
+    private Map<String, Double> routes = new HashMap<>();
+
+    /**
+     * Máximo de bytes do corpo capturados por resposta; o restante é só contado.
+     */
+    private int maxBodyBytes = 2048;
+
+    /**
+     * Content-types cujo corpo é capturado; os demais registram apenas os metadados.
+     */
+    private List<String> contentTypes = List.of("application/json", "application/*+json", "text/*");
+
+    /**
+     * Capacidade da fila de escrita assíncrona; quando cheia, o registro é descartado.
+     */
+    private int queueCapacity = 1024;
+
+    private Recent recent = new Recent();
+
+    /**
+     * Buffer circular das últimas trocas, consultado em /actuator/recentexchanges.
+     */
+    @Data
+    public static class Recent {
+
+        private boolean enabled = true;
+
+        /**
+         * Quantidade de trocas mantidas; as mais antigas são sobrescritas.
+         */
+        private int capacity = 512;
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.retry")
+public class RetryProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Tentativas no total, contando a original.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Status do serviço que levam a uma nova tentativa (além de falhas de
+     * conexão).
+     */
+    private Set<Integer> statuses = Set.of(502, 503, 504);
+
+    /**
+     * Header que torna um POST elegível a retry; sem ele só GET, HEAD e
+     * OPTIONS são repetidos.
+     */
+    private String idempotencyKeyHeader = "Idempotency-Key";
+
+    /**
+     * Retries permitidos por requisição elegível (0.1 = no máximo 10% a mais
+     * de chamadas). Cada nó limita os próprios retries a essa fração do
+     * próprio tráfego, então o cluster inteiro também fica nela.
+     */
+    private double budgetRatio = 0.1;
+
+    /**
+     * Rajada máxima de retries acima da proporção.
+     */
+    private int budgetCapacity = 10;
+
+    private Backoff backoff = new Backoff();
+
+    @Data
+    public static class Backoff {
+
+        /**
+         * Espera antes do primeiro retry; dobra a cada tentativa.
+         */
+        private Duration first = Duration.ofMillis(25);
+
+        private Duration max = Duration.ofMillis(250);
+
+        /**
+         * Fração aleatória da espera (0..1) descontada, para que retries de
+         * requisições que falharam juntas não voltem juntos.
+         */
+        private double jitter = 0.5;
+    }
+}
@@ -32,6 +32,10 @@ public class SecurityConfig {
                         .accessDeniedHandler(exceptionHandlers.accessDeniedHandler())
                 )
                 .authorizeExchange(ex -> ex
+                        // expõe amostras de corpo de resposta
+                        .pathMatchers("/actuator/recentexchanges", "/actuator/recentexchanges/**").hasRole("ADMIN")
+                        // expõe endereços das instâncias e o estado de ejeção
+                        .pathMatchers("/actuator/outliers", "/actuator/outliers/**").hasRole("ADMIN")
                         .matchers(new PathPatternParserServerWebExchangeMatcher("/actuator/**")).permitAll()
                         .pathMatchers("/*/actuator/**").permitAll()
                         .anyExchange().authenticated()
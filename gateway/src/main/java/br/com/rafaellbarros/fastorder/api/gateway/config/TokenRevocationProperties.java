@@ -0,0 +1,31 @@
+package br.com.rafaellbarros.fastorder.api.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.gateway.auth.revocation")
+public class TokenRevocationProperties {
+
+    /**
+     * Liga a persistência no Redis e o canal pub/sub entre as instâncias.
+     */
+    private boolean enabled = true;
+
+    private String channel = "auth:revocations";
+
+    /**
+     * Por quanto tempo uma revogação é mantida; deve cobrir o maior tempo de
+     * vida de um access token emitido pelo Keycloak.
+     */
+    private Duration retention = Duration.ofHours(24);
+
+    private long maximumSize = 100_000;
+
+    /**
+     * Atraso máximo entre tentativas de reconexão ao canal.
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(10);
+}
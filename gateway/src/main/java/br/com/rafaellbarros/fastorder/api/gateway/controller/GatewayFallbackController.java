@@ -4,7 +4,6 @@ import org.springframework.cloud.gateway.route.Route;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
@@ -19,7 +18,8 @@ import java.util.Set;
 @RequestMapping("/fallback")
 public class GatewayFallbackController {
 
-    @GetMapping("/global")
+    // qualquer método: o circuit breaker e o limite de concorrência encaminham a requisição original
+    @RequestMapping("/global")
     public Mono<ResponseEntity<Map<String, Object>>> globalFallback(ServerWebExchange exchange) {
 
         Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
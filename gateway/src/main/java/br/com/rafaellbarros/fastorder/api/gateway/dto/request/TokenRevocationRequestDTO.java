@@ -0,0 +1,17 @@
+package br.com.rafaellbarros.fastorder.api.gateway.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Informe o token (revoga só ele) ou o subject (revoga todos os tokens do
+ * usuário emitidos até agora).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenRevocationRequestDTO {
+    private String token;
+    private String subject;
+}
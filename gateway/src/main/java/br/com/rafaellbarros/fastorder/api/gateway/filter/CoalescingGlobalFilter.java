@@ -0,0 +1,197 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.cache.EdgeCacheKeys;
+import br.com.rafaellbarros.fastorder.api.gateway.config.CoalescingProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.routing.RouteServiceIds;
+import br.com.rafaellbarros.fastorder.api.gateway.support.BodyCaptureResponseDecorator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agrupa GETs idênticos e simultâneos (mesmo path, query e escopo do usuário)
+ * numa única chamada ao serviço, para os serviços habilitados em
+ * {@code fastorder.gateway.coalescing.services}.
+ * <p>
+ * A primeira requisição segue normalmente e tem o corpo capturado; as que
+ * chegam enquanto ela está em andamento recebem a mesma resposta, escrita a
+ * partir do mesmo {@code byte[]} (sem cópia por requisição). Se a resposta não
+ * puder ser compartilhada (corpo grande, {@code Set-Cookie}, erro) ou demorar
+ * mais que {@code max-wait}, cada uma segue com a própria chamada.
+ */
+@Component
+public class CoalescingGlobalFilter implements GlobalFilter, Ordered {
+
+    private static final Set<String> UNSHARED_HEADERS = Set.of(
+            HttpHeaders.SET_COOKIE.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase());
+
+    private final CoalescingProperties properties;
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, List<PathPattern>> patterns = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter fallbacks;
+
+    public CoalescingGlobalFilter(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        this.leaders = counter(meterRegistry, "leader");
+        this.followers = counter(meterRegistry, "follower");
+        this.fallbacks = counter(meterRegistry, "fallback");
+
+        Gauge.builder("gateway.coalescing.inflight", inFlight, Map::size)
+                .description("Chamadas em andamento com requisições aguardando")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Depois do cache de borda (um hit não precisa de agrupamento) e antes do
+     * {@link NettyWriteResponseFilter}, para capturar o corpo que ele escreve.
+     */
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        if (!properties.isEnabled() || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        String serviceId = RouteServiceIds.of(exchange);
+        CoalescingProperties.Service service = serviceId != null ? properties.getServices().get(serviceId) : null;
+
+        if (service == null || !eligible(serviceId, service, exchange)) {
+            return chain.filter(exchange);
+        }
+
+        return EdgeCacheKeys.of(exchange, serviceId, service.getScope())
+                .flatMap(key -> {
+                    Sinks.One<SharedResponse> created = Sinks.one();
+                    Sinks.One<SharedResponse> existing = inFlight.putIfAbsent(key, created);
+
+                    return existing == null
+                            ? lead(exchange, chain, key, created)
+                            : follow(exchange, chain, existing);
+                });
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain,
+                            String key, Sinks.One<SharedResponse> flight) {
+
+        leaders.increment();
+
+        ServerHttpResponse original = exchange.getResponse();
+
+        BodyCaptureResponseDecorator capturing = new BodyCaptureResponseDecorator(
+                original, properties.getMaxBodyBytes(), body -> {
+                    // sai do mapa antes de publicar: quem chegar depois faz nova chamada
+                    inFlight.remove(key, flight);
+                    SharedResponse shared = SharedResponse.of(original, body);
+                    if (shared != null) {
+                        flight.tryEmitValue(shared);
+                    }
+                });
+
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, flight);
+                    flight.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Sinks.One<SharedResponse> flight) {
+
+        followers.increment();
+
+        return flight.asMono()
+                .timeout(properties.getMaxWait(), Mono.empty())
+                .map(shared -> replay(exchange, shared))
+                .defaultIfEmpty(Mono.defer(() -> {
+                    fallbacks.increment();
+                    return chain.filter(exchange);
+                }))
+                .flatMap(response -> response);
+    }
+
+    private static Mono<Void> replay(ServerWebExchange exchange, SharedResponse shared) {
+
+        ServerHttpResponse response = exchange.getResponse();
+
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().setContentLength(shared.body().length);
+
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+    }
+
+    private boolean eligible(String serviceId, CoalescingProperties.Service service, ServerWebExchange exchange) {
+
+        List<PathPattern> compiled = patterns.computeIfAbsent(serviceId, ignored -> service.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList());
+
+        for (PathPattern pattern : compiled) {
+            if (pattern.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Counter counter(MeterRegistry registry, String role) {
+        return Counter.builder("gateway.coalescing.requests")
+                .description("GETs elegíveis ao agrupamento por papel")
+                .tag("role", role)
+                .register(registry);
+    }
+
+    /**
+     * Resposta do líder, compartilhada com quem aguardava.
+     */
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+
+        static SharedResponse of(ServerHttpResponse response, byte[] body) {
+
+            HttpStatusCode status = response.getStatusCode();
+
+            if (status == null || status.is5xxServerError() || response.getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                return null;
+            }
+
+            HttpHeaders headers = new HttpHeaders();
+            response.getHeaders().forEach((name, values) -> {
+                if (!UNSHARED_HEADERS.contains(name.toLowerCase())) {
+                    headers.put(name, List.copyOf(values));
+                }
+            });
+
+            return new SharedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.CompressionProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.support.ContentEncoding;
+import br.com.rafaellbarros.fastorder.api.gateway.support.StreamingCompressor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Comprime as respostas dos serviços com gzip ou deflate, conforme o
+ * {@code Accept-Encoding} do cliente.
+ * <p>
+ * Ficam de fora respostas pequenas, tipos que não se beneficiam (imagens,
+ * arquivos compactados), respostas já codificadas pela origem e respostas em
+ * streaming ({@code writeAndFlushWith}, como SSE). A compressão acontece no
+ * event loop, buffer a buffer, via {@link StreamingCompressor}.
+ * <p>
+ * É o último filtro antes do {@link NettyWriteResponseFilter}, então o cache
+ * de borda e o agrupamento de GETs guardam e compartilham o corpo já
+ * comprimido: um hit não comprime de novo.
+ */
+@Component
+public class CompressionGlobalFilter implements GlobalFilter, Ordered {
+
+    private final CompressionProperties properties;
+    private final List<MediaType> contentTypes;
+
+    private final Counter compressed;
+    private final Counter skipped;
+    private final Counter bytesIn;
+    private final Counter bytesOut;
+
+    public CompressionGlobalFilter(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.contentTypes = MediaType.parseMediaTypes(properties.getContentTypes());
+
+        this.compressed = Counter.builder("gateway.compression.responses")
+                .description("Respostas comprimidas ou enviadas sem compressão pelo gateway")
+                .tag("result", "compressed")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("gateway.compression.responses")
+                .description("Respostas comprimidas ou enviadas sem compressão pelo gateway")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        this.bytesIn = Counter.builder("gateway.compression.bytes")
+                .description("Bytes antes e depois da compressão")
+                .baseUnit("bytes")
+                .tag("stage", "in")
+                .register(meterRegistry);
+        this.bytesOut = Counter.builder("gateway.compression.bytes")
+                .description("Bytes antes e depois da compressão")
+                .baseUnit("bytes")
+                .tag("stage", "out")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        if (!properties.isEnabled() || exchange.getRequest().getMethod() == HttpMethod.HEAD) {
+            return chain.filter(exchange);
+        }
+
+        ContentEncoding encoding = ContentEncoding.negotiate(
+                exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+
+        ServerHttpResponseDecorator compressing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+
+                HttpHeaders headers = getHeaders();
+
+                if (!compressible(getStatusCode(), headers)) {
+                    skipped.increment();
+                    return super.writeWith(body);
+                }
+
+                // a resposta muda com o Accept-Encoding, comprimida ou não
+                if (!headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) {
+                    headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                }
+
+                if (encoding == ContentEncoding.IDENTITY) {
+                    skipped.increment();
+                    return super.writeWith(body);
+                }
+
+                compressed.increment();
+                headers.set(HttpHeaders.CONTENT_ENCODING, encoding.token());
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                weakenETag(headers);
+
+                Flux<DataBuffer> counted = Flux.<DataBuffer>from(body)
+                        .doOnNext(buffer -> bytesIn.increment(buffer.readableByteCount()));
+
+                // o log de respostas fica por dentro deste decorador e só veria o corpo comprimido
+                UnaryOperator<Flux<DataBuffer>> uncompressed =
+                        exchange.getAttribute(ResponseLoggingGlobalFilter.UNCOMPRESSED_BODY_ATTRIBUTE);
+
+                if (uncompressed != null) {
+                    counted = uncompressed.apply(counted);
+                }
+
+                return super.writeWith(StreamingCompressor
+                        .compress(counted, encoding, properties.getLevel(), bufferFactory(), properties.getChunkSize())
+                        .doOnNext(buffer -> bytesOut.increment(buffer.readableByteCount())));
+            }
+        };
+
+        return chain.filter(exchange.mutate().response(compressing).build());
+    }
+
+    private boolean compressible(HttpStatusCode status, HttpHeaders headers) {
+
+        if (status != null && (!status.is2xxSuccessful()
+                || status.isSameCodeAs(HttpStatus.NO_CONTENT)
+                || status.isSameCodeAs(HttpStatus.PARTIAL_CONTENT))) {
+            return false;
+        }
+
+        if (headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return false;
+        }
+
+        long contentLength = headers.getContentLength();
+
+        if (contentLength >= 0 && contentLength < properties.getMinResponseBytes()) {
+            return false;
+        }
+
+        MediaType contentType = headers.getContentType();
+
+        if (contentType == null) {
+            return false;
+        }
+
+        for (MediaType allowed : contentTypes) {
+            if (allowed.includes(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Um ETag forte identifica os bytes exatos da origem; depois da compressão
+     * só vale como fraco.
+     */
+    private static void weakenETag(HttpHeaders headers) {
+
+        String etag = headers.getETag();
+
+        if (etag != null && !etag.startsWith("W/")) {
+            headers.setETag("W/" + etag);
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.concurrency.AdaptiveLimiter;
+import br.com.rafaellbarros.fastorder.api.gateway.concurrency.ConcurrencyLimiters;
+import br.com.rafaellbarros.fastorder.api.gateway.config.ConcurrencyLimitProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.routing.RouteServiceIds;
+import br.com.rafaellbarros.fastorder.api.gateway.support.FallbackForwarder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Limita as requisições simultâneas por serviço com um limite adaptativo
+ * (gradiente de RTT ou AIMD, ver {@link ConcurrencyLimitProperties}). O que
+ * passa do limite vai direto para o fallback global, sem chamar o serviço,
+ * em vez de esperar em fila até o circuit breaker abrir.
+ */
+@Component
+public class ConcurrencyLimitGlobalFilter implements GlobalFilter, Ordered {
+
+    private final ConcurrencyLimitProperties properties;
+    private final ConcurrencyLimiters limiters;
+    private final FallbackForwarder fallbackForwarder;
+
+    private final Counter accepted;
+    private final Counter rejected;
+
+    public ConcurrencyLimitGlobalFilter(ConcurrencyLimitProperties properties,
+                                        ConcurrencyLimiters limiters,
+                                        FallbackForwarder fallbackForwarder,
+                                        MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiters = limiters;
+        this.fallbackForwarder = fallbackForwarder;
+
+        this.accepted = counter(meterRegistry, "accepted");
+        this.rejected = counter(meterRegistry, "rejected");
+    }
+
+    /**
+     * Imediatamente antes do circuit breaker (os filtros de rota começam em
+     * 1): só chamadas que vão de fato ao serviço ocupam vaga e geram amostra
+     * de RTT. Cache de borda, coalescing e última resposta boa ficam por fora;
+     * timeouts do time limiter chegam aqui como o 503 do fallback.
+     */
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        String serviceId = RouteServiceIds.of(exchange);
+
+        if (!properties.isEnabled() || serviceId == null) {
+            return chain.filter(exchange);
+        }
+
+        AdaptiveLimiter.Permit permit = limiters.limiterFor(serviceId).tryAcquire();
+
+        if (permit == null) {
+            rejected.increment();
+            return fallbackForwarder.forward(exchange);
+        }
+
+        accepted.increment();
+
+        return chain.filter(exchange)
+                .doFinally(signal -> release(permit, signal, exchange));
+    }
+
+    private static void release(AdaptiveLimiter.Permit permit, SignalType signal, ServerWebExchange exchange) {
+
+        if (signal == SignalType.CANCEL) {
+            permit.ignore();
+        } else if (signal == SignalType.ON_ERROR || overloaded(exchange.getResponse().getStatusCode())) {
+            permit.dropped();
+        } else if (exchange.getAttributes().containsKey(RetryGlobalFilter.RETRIED_ATTRIBUTE)) {
+            // o tempo inclui as esperas entre tentativas: não é o RTT do serviço
+            permit.ignore();
+        } else {
+            permit.success();
+        }
+    }
+
+    /**
+     * Respostas que indicam serviço saturado (inclusive o fallback do
+     * circuit breaker e timeouts do time limiter).
+     */
+    private static boolean overloaded(HttpStatusCode status) {
+        return status != null && (status.isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE)
+                || status.isSameCodeAs(HttpStatus.GATEWAY_TIMEOUT)
+                || status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS));
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.concurrency.requests")
+                .description("Requisições avaliadas pelo limite de concorrência por resultado")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,232 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.cache.CacheDirectives;
+import br.com.rafaellbarros.fastorder.api.gateway.cache.EdgeCache;
+import br.com.rafaellbarros.fastorder.api.gateway.cache.EdgeCacheEntry;
+import br.com.rafaellbarros.fastorder.api.gateway.cache.EdgeCacheKeys;
+import br.com.rafaellbarros.fastorder.api.gateway.config.EdgeCacheProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.routing.RouteServiceIds;
+import br.com.rafaellbarros.fastorder.api.gateway.support.BodyCaptureResponseDecorator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache de borda para GETs dos serviços habilitados em
+ * {@code fastorder.gateway.edge-cache.services}.
+ * <p>
+ * A chave inclui o escopo do usuário (authorities ou o próprio usuário), então
+ * uma entrada nunca é servida a quem teria uma resposta diferente da origem.
+ * O hit responde direto do gateway, sem passar pelo load balancer nem pelo
+ * circuit breaker; {@code If-None-Match} igual ao ETag da entrada responde 304.
+ * <p>
+ * Respeita {@code Cache-Control}: {@code no-store} na requisição ignora o
+ * cache, {@code no-cache} força a ida à origem (e regrava a entrada); na
+ * resposta, {@code no-store}, {@code private} (escopo compartilhado),
+ * {@code Set-Cookie} ou {@code Vary: *} impedem a gravação e
+ * {@code max-age}/{@code s-maxage} limitam o TTL.
+ */
+@Component
+public class EdgeCacheGlobalFilter implements GlobalFilter, Ordered {
+
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.VARY);
+
+    private final EdgeCacheProperties properties;
+    private final EdgeCache edgeCache;
+    private final Map<String, List<PathPattern>> patterns = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter notModified;
+    private final Counter misses;
+    private final Counter bypassed;
+
+    public EdgeCacheGlobalFilter(EdgeCacheProperties properties, EdgeCache edgeCache, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.edgeCache = edgeCache;
+
+        this.hits = counter(meterRegistry, "hit");
+        this.notModified = counter(meterRegistry, "not_modified");
+        this.misses = counter(meterRegistry, "miss");
+        this.bypassed = counter(meterRegistry, "bypass");
+    }
+
+    /**
+     * Antes do {@link NettyWriteResponseFilter}, para capturar o corpo que ele
+     * escreve, e depois do {@link ResponseLoggingGlobalFilter}, para que os
+     * hits também sejam registrados. Fica antes do
+     * {@link CompressionGlobalFilter}: o corpo capturado já vem comprimido.
+     */
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 3;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        ServerHttpRequest request = exchange.getRequest();
+
+        if (!properties.isEnabled() || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        String serviceId = RouteServiceIds.of(exchange);
+        EdgeCacheProperties.Service service = serviceId != null ? properties.getServices().get(serviceId) : null;
+
+        if (service == null || !eligible(serviceId, service, request)) {
+            return chain.filter(exchange);
+        }
+
+        CacheDirectives directives = CacheDirectives.parse(request.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+
+        if (directives.noStore() || request.getHeaders().containsKey(HttpHeaders.RANGE)) {
+            bypassed.increment();
+            return chain.filter(exchange);
+        }
+
+        return EdgeCacheKeys.of(exchange, serviceId, service.getScope())
+                .flatMap(key -> {
+
+                    Mono<EdgeCacheEntry> cached = directives.noCache() ? Mono.empty() : edgeCache.get(key);
+
+                    return cached
+                            .map(entry -> serve(exchange, entry))
+                            .defaultIfEmpty(Mono.defer(() -> fetch(exchange, chain, key, service)))
+                            .flatMap(response -> response);
+                });
+    }
+
+    private boolean eligible(String serviceId, EdgeCacheProperties.Service service, ServerHttpRequest request) {
+
+        List<PathPattern> compiled = patterns.computeIfAbsent(serviceId, ignored -> service.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList());
+
+        for (PathPattern pattern : compiled) {
+            if (pattern.matches(request.getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, EdgeCacheEntry entry) {
+
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        Instant now = Instant.now();
+
+        entry.headers().forEach(headers::set);
+        headers.setETag(entry.etag());
+        headers.set(HttpHeaders.AGE, Long.toString(entry.ageSeconds(now)));
+        headers.set("X-Cache", "HIT");
+
+        if (entry.matches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+            notModified.increment();
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        hits.increment();
+        response.setStatusCode(HttpStatusCode.valueOf(entry.status()));
+        headers.setContentLength(entry.body().length);
+
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(entry.body())));
+    }
+
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain,
+                             String key, EdgeCacheProperties.Service service) {
+
+        misses.increment();
+
+        ServerHttpResponse original = exchange.getResponse();
+
+        BodyCaptureResponseDecorator capturing = new BodyCaptureResponseDecorator(
+                original, properties.getMaxBodyBytes(), body -> {
+                    // corpo do fallback do circuit breaker (o status pode ter sido trocado pelo LastKnownGoodGlobalFilter)
+                    if (exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) == null) {
+                        store(key, original, body, service);
+                    }
+                });
+
+        return chain.filter(exchange.mutate().response(capturing).build());
+    }
+
+    private void store(String key, ServerHttpResponse response, byte[] body, EdgeCacheProperties.Service service) {
+
+        HttpHeaders headers = response.getHeaders();
+
+        if (!HttpStatus.OK.equals(response.getStatusCode())
+                || headers.containsKey(HttpHeaders.SET_COOKIE)
+                || headers.getVary().contains("*")) {
+            return;
+        }
+
+        CacheDirectives directives = CacheDirectives.parse(headers.get(HttpHeaders.CACHE_CONTROL));
+
+        if (directives.noStore() || directives.noCache()
+                || (directives.isPrivate() && service.getScope() != EdgeCacheProperties.Scope.PRINCIPAL)) {
+            return;
+        }
+
+        Duration ttl = service.getTtl();
+
+        if (directives.maxAge() >= 0) {
+            ttl = ttl.compareTo(Duration.ofSeconds(directives.maxAge())) < 0 ? ttl : Duration.ofSeconds(directives.maxAge());
+        }
+
+        if (ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+
+        Map<String, String> stored = new LinkedHashMap<>();
+        for (String name : STORED_HEADERS) {
+            List<String> values = headers.get(name);
+            if (values != null && !values.isEmpty()) {
+                stored.put(name, String.join(", ", values));
+            }
+        }
+
+        String etag = headers.getETag() != null ? headers.getETag() : EdgeCacheKeys.etagOf(body);
+        Instant now = Instant.now();
+
+        edgeCache.put(key, new EdgeCacheEntry(HttpStatus.OK.value(), stored, etag, body, now, now.plus(ttl)))
+                .subscribe();
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.edge.cache.requests")
+                .description("Requisições elegíveis ao cache de borda por resultado")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,218 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.HedgingProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.loadbalancer.ExcludedInstances;
+import br.com.rafaellbarros.fastorder.api.gateway.resilience.LatencyTracker;
+import br.com.rafaellbarros.fastorder.api.gateway.resilience.RequestBudget;
+import br.com.rafaellbarros.fastorder.api.gateway.routing.RouteServiceIds;
+import br.com.rafaellbarros.fastorder.api.gateway.support.AttemptExchange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hedge de GETs para os serviços em {@code fastorder.gateway.hedging.services}:
+ * se a primeira tentativa não responde até o percentil configurado da
+ * latência do serviço (p95 por padrão), uma segunda é enviada a outra
+ * instância e vale a que responder primeiro; a outra é cancelada.
+ * <p>
+ * Cada tentativa é um {@link AttemptExchange}: status e headers só chegam à
+ * resposta real quando ela vence. O total de hedges é limitado por um
+ * {@link RequestBudget} global.
+ */
+@Component
+public class HedgingGlobalFilter implements GlobalFilter, Ordered {
+
+    private final HedgingProperties properties;
+    private final RequestBudget budget;
+    private final Map<String, LatencyTracker> trackers = new ConcurrentHashMap<>();
+    private final Map<String, List<PathPattern>> patterns = new ConcurrentHashMap<>();
+
+    private final Counter sent;
+    private final Counter won;
+    private final Counter rejected;
+
+    public HedgingGlobalFilter(HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.budget = new RequestBudget(properties.getBudgetRatio(), properties.getBudgetCapacity());
+
+        this.sent = counter(meterRegistry, "sent");
+        this.won = counter(meterRegistry, "won");
+        this.rejected = counter(meterRegistry, "rejected");
+
+        Gauge.builder("gateway.hedging.budget", budget, RequestBudget::available)
+                .description("Hedges disponíveis no orçamento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Imediatamente antes do load balancer, para que cada tentativa escolha a
+     * própria instância.
+     */
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        if (!properties.isEnabled() || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        String serviceId = RouteServiceIds.of(exchange);
+        HedgingProperties.Service service = serviceId != null ? properties.getServices().get(serviceId) : null;
+
+        if (service == null || !eligible(serviceId, service, exchange)) {
+            return chain.filter(exchange);
+        }
+
+        budget.deposit();
+
+        LatencyTracker tracker = trackers.computeIfAbsent(serviceId,
+                ignored -> new LatencyTracker(512, TimeUnit.MILLISECONDS.toNanos(250)));
+
+        Hedge hedge = new Hedge(exchange, tracker);
+        AttemptExchange primary = hedge.attempt();
+        Sinks.One<Boolean> primaryDone = Sinks.one();
+
+        Mono<AttemptExchange> first = chain.filter(primary).thenReturn(primary)
+                .doFinally(signal -> primaryDone.tryEmitValue(Boolean.TRUE));
+
+        Mono<AttemptExchange> second = Mono.delay(delay(tracker, service))
+                .takeUntilOther(primaryDone.asMono())
+                .filter(ignored -> hedge.winner.get() == null)
+                .flatMap(ignored -> {
+                    if (!budget.tryWithdraw()) {
+                        rejected.increment();
+                        return Mono.empty();
+                    }
+                    sent.increment();
+                    AttemptExchange hedged = hedge.attemptExcluding(primary);
+                    return chain.filter(hedged).thenReturn(hedged);
+                });
+
+        return Mono.firstWithValue(first, second)
+                .doOnNext(winner -> {
+                    // cadeia concluída sem escrever: o status e os headers ainda precisam chegar à resposta
+                    winner.commit();
+                    if (winner != primary) {
+                        won.increment();
+                    }
+                })
+                .onErrorMap(NoSuchElementException.class,
+                        error -> error.getSuppressed().length > 0 ? error.getSuppressed()[0] : error)
+                .then();
+    }
+
+    private Duration delay(LatencyTracker tracker, HedgingProperties.Service service) {
+
+        long percentile = tracker.percentile(service.getPercentile(), service.getMinSamples());
+
+        if (percentile < 0) {
+            return service.getInitialDelay();
+        }
+
+        long nanos = Math.max(service.getMinDelay().toNanos(), Math.min(service.getMaxDelay().toNanos(), percentile));
+        return Duration.ofNanos(nanos);
+    }
+
+    private boolean eligible(String serviceId, HedgingProperties.Service service, ServerWebExchange exchange) {
+
+        List<PathPattern> compiled = patterns.computeIfAbsent(serviceId, ignored -> service.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList());
+
+        for (PathPattern pattern : compiled) {
+            if (pattern.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.hedging.requests")
+                .description("Segundas tentativas enviadas, vencedoras e recusadas por falta de orçamento")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Estado compartilhado pelas tentativas de uma requisição. A primeira
+     * tentativa com resposta pronta para escrever vence; a perdedora fica
+     * parada na escrita até ser cancelada.
+     */
+    private static final class Hedge implements AttemptExchange.CommitGate {
+
+        private final ServerWebExchange exchange;
+        private final Map<String, Object> initialAttributes;
+        private final LatencyTracker tracker;
+        private final long startNanos = System.nanoTime();
+        private final AtomicReference<AttemptExchange> winner = new AtomicReference<>();
+
+        private Hedge(ServerWebExchange exchange, LatencyTracker tracker) {
+            this.exchange = exchange;
+            this.initialAttributes = Map.copyOf(exchange.getAttributes());
+            this.tracker = tracker;
+        }
+
+        private AttemptExchange attempt() {
+            return new AttemptExchange(exchange, initialAttributes, this);
+        }
+
+        /**
+         * Tentativa que evita a instância já escolhida pela anterior.
+         */
+        private AttemptExchange attemptExcluding(AttemptExchange previous) {
+
+            AttemptExchange attempt = attempt();
+            ServiceInstance selected = previous.selectedInstance();
+
+            if (selected != null) {
+                ExcludedInstances.add(attempt.getAttributes(), selected);
+            }
+            return attempt;
+        }
+
+        @Override
+        public boolean tryCommit(AttemptExchange attempt) {
+
+            if (!winner.compareAndSet(null, attempt)) {
+                return winner.get() == attempt;
+            }
+
+            tracker.record(System.nanoTime() - startNanos);
+            return true;
+        }
+
+        @Override
+        public Mono<Void> refused(AttemptExchange attempt, Publisher<? extends DataBuffer> body) {
+            // a perdedora é cancelada quando a vencedora termina
+            return Mono.never();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.GatewayLoadBalancerProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.loadbalancer.InstanceStats;
+import br.com.rafaellbarros.fastorder.api.gateway.loadbalancer.InstanceStatsRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Mede cada chamada à instância escolhida pelo load balancer (em andamento e
+ * tempo até a resposta) para o {@link InstanceStatsRegistry}.
+ * <p>
+ * Fica num filtro, e não num {@code LoadBalancerLifecycle}, porque o filtro de
+ * load balancer do gateway não notifica cancelamentos: cada hedge perdedor ou
+ * cliente que desiste deixaria uma requisição "em andamento" para sempre.
+ */
+@Component
+public class InstanceStatsGlobalFilter implements GlobalFilter, Ordered {
+
+    private final InstanceStatsRegistry registry;
+    private final long failurePenaltyNanos;
+
+    public InstanceStatsGlobalFilter(InstanceStatsRegistry registry, GatewayLoadBalancerProperties properties) {
+        this.registry = registry;
+        this.failurePenaltyNanos = properties.getFailurePenalty().toNanos();
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        Object selected = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+
+        if (!(selected instanceof Response<?> response) || !(response.getServer() instanceof ServiceInstance instance)) {
+            return chain.filter(exchange);
+        }
+
+        InstanceStats stats = registry.statsFor(instance);
+        long start = System.nanoTime();
+        stats.start();
+
+        // a cadeia termina quando chegam os headers; a escrita do corpo vem depois
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    long now = System.nanoTime();
+                    long rtt = now - start;
+
+                    if (failed(signal, exchange.getResponse().getStatusCode())) {
+                        rtt = Math.max(rtt, failurePenaltyNanos);
+                    }
+                    // cancelada (hedge perdedor, cliente desistiu): o tempo até aqui é um piso da latência
+                    stats.complete(rtt, now);
+                });
+    }
+
+    private static boolean failed(SignalType signal, HttpStatusCode status) {
+        return signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+    }
+}
@@ -1,11 +1,15 @@
 package br.com.rafaellbarros.fastorder.api.gateway.filter;
 
+import br.com.rafaellbarros.fastorder.api.gateway.security.AuthOutcome;
+import br.com.rafaellbarros.fastorder.api.gateway.security.BearerTokenExtractor;
 import br.com.rafaellbarros.fastorder.api.gateway.security.CachedJwtAuthenticationManager;
-import org.springframework.http.HttpHeaders;
-import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
 import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpBasicServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.authentication.ServerAuthenticationFailureHandler;
+import org.springframework.security.web.server.authentication.ServerAuthenticationSuccessHandler;
+import org.springframework.security.web.server.authentication.WebFilterChainServerAuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Mono;
 
 @Component
 public class JwtAuthWebFilter extends AuthenticationWebFilter {
@@ -13,16 +17,21 @@ public class JwtAuthWebFilter extends AuthenticationWebFilter {
     public JwtAuthWebFilter(CachedJwtAuthenticationManager authManager) {
         super(authManager);
 
-        setServerAuthenticationConverter(exchange -> {
-            String authHeader = exchange.getRequest()
-                    .getHeaders()
-                    .getFirst(HttpHeaders.AUTHORIZATION);
+        setServerAuthenticationConverter(new BearerTokenExtractor());
 
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                String token = authHeader.substring(7);
-                return Mono.just(new BearerTokenAuthenticationToken(token));
-            }
-            return Mono.empty();
+        // mesmos handlers padrão do AuthenticationWebFilter, marcando o resultado no exchange
+        ServerAuthenticationSuccessHandler success = new WebFilterChainServerAuthenticationSuccessHandler();
+        ServerAuthenticationFailureHandler failure =
+                new ServerAuthenticationEntryPointFailureHandler(new HttpBasicServerAuthenticationEntryPoint());
+
+        setAuthenticationSuccessHandler((webFilterExchange, authentication) -> {
+            AuthOutcome.SUCCESS.mark(webFilterExchange.getExchange());
+            return success.onAuthenticationSuccess(webFilterExchange, authentication);
+        });
+
+        setAuthenticationFailureHandler((webFilterExchange, exception) -> {
+            AuthOutcome.of(exception).mark(webFilterExchange.getExchange());
+            return failure.onAuthenticationFailure(webFilterExchange, exception);
         });
     }
 }
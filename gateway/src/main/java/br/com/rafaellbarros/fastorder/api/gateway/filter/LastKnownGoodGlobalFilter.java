@@ -0,0 +1,207 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.cache.EdgeCacheEntry;
+import br.com.rafaellbarros.fastorder.api.gateway.cache.EdgeCacheKeys;
+import br.com.rafaellbarros.fastorder.api.gateway.cache.LastKnownGoodStore;
+import br.com.rafaellbarros.fastorder.api.gateway.config.LastKnownGoodProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.routing.RouteServiceIds;
+import br.com.rafaellbarros.fastorder.api.gateway.support.BodyCaptureResponseDecorator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stale-while-error para os serviços em
+ * {@code fastorder.gateway.last-known-good.services}: guarda a última resposta
+ * 200 de cada GET e, quando o circuit breaker manda a requisição para o
+ * fallback (circuito aberto ou timeout), responde com ela no lugar do 503,
+ * com {@code Warning: 110} e {@code Age}.
+ * <p>
+ * A chave é a mesma do cache de borda (escopo do usuário, path, query e
+ * encoding negociado), então uma resposta nunca é servida a quem teria outra
+ * da origem.
+ */
+@Component
+public class LastKnownGoodGlobalFilter implements GlobalFilter, Ordered {
+
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.VARY);
+
+    private final LastKnownGoodProperties properties;
+    private final LastKnownGoodStore store;
+    private final Map<String, List<PathPattern>> patterns = new ConcurrentHashMap<>();
+
+    private final Counter stored;
+    private final Counter served;
+    private final Counter missed;
+
+    public LastKnownGoodGlobalFilter(LastKnownGoodProperties properties, LastKnownGoodStore store,
+                                     MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+
+        this.stored = counter(meterRegistry, "stored");
+        this.served = counter(meterRegistry, "served");
+        this.missed = counter(meterRegistry, "missed");
+    }
+
+    /**
+     * Por fora do {@link ResponseLoggingGlobalFilter} e do cache de borda: vê o
+     * corpo final (já comprimido) e também o que o fallback escreve.
+     */
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 5;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        if (!properties.isEnabled() || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        String serviceId = RouteServiceIds.of(exchange);
+        LastKnownGoodProperties.Service service = serviceId != null ? properties.getServices().get(serviceId) : null;
+
+        if (service == null || !eligible(serviceId, service, exchange)) {
+            return chain.filter(exchange);
+        }
+
+        return EdgeCacheKeys.of(exchange, serviceId, service.getScope())
+                .flatMap(key -> chain.filter(exchange.mutate()
+                        .response(new LastKnownGoodResponse(exchange, key, service))
+                        .build()));
+    }
+
+    private boolean eligible(String serviceId, LastKnownGoodProperties.Service service, ServerWebExchange exchange) {
+
+        List<PathPattern> compiled = patterns.computeIfAbsent(serviceId, ignored -> service.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList());
+
+        for (PathPattern pattern : compiled) {
+            if (pattern.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void store(ServerWebExchange exchange, String key, LastKnownGoodProperties.Service service, byte[] body) {
+
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+
+        if (fallback(exchange)
+                || !HttpStatus.OK.equals(response.getStatusCode())
+                || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return;
+        }
+
+        Map<String, String> kept = new LinkedHashMap<>();
+        for (String name : STORED_HEADERS) {
+            List<String> values = headers.get(name);
+            if (values != null && !values.isEmpty()) {
+                kept.put(name, String.join(", ", values));
+            }
+        }
+
+        Instant now = Instant.now();
+        store.put(key, new EdgeCacheEntry(HttpStatus.OK.value(), kept, headers.getETag(), body, now,
+                now.plus(service.getMaxStale())));
+        stored.increment();
+    }
+
+    private static boolean fallback(ServerWebExchange exchange) {
+        return exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) != null;
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.last.known.good.requests")
+                .description("Respostas guardadas, servidas no lugar do fallback e fallbacks sem resposta guardada")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Captura a resposta da origem ou, se quem escreve é o fallback, troca o
+     * corpo dele pela última resposta boa.
+     */
+    private final class LastKnownGoodResponse extends BodyCaptureResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+
+        private LastKnownGoodResponse(ServerWebExchange exchange, String key, LastKnownGoodProperties.Service service) {
+            super(exchange.getResponse(), properties.getMaxBodyBytes(), body -> store(exchange, key, service, body));
+            this.exchange = exchange;
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+
+            if (!fallback(exchange)) {
+                return super.writeWith(body);
+            }
+
+            EdgeCacheEntry entry = store.get(key);
+
+            if (entry == null) {
+                missed.increment();
+                return super.writeWith(body);
+            }
+
+            served.increment();
+
+            ServerHttpResponse response = getDelegate();
+            HttpHeaders headers = response.getHeaders();
+            Instant now = Instant.now();
+
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            headers.remove(HttpHeaders.CONTENT_ENCODING);
+            entry.headers().forEach(headers::set);
+            headers.set(HttpHeaders.AGE, Long.toString(entry.ageSeconds(now)));
+            headers.set(HttpHeaders.WARNING, STALE_WARNING);
+            headers.setCacheControl("no-store");
+            headers.set("X-Cache", "STALE");
+            headers.setContentLength(entry.body().length);
+            response.setStatusCode(HttpStatus.valueOf(entry.status()));
+
+            return Flux.from(body)
+                    .doOnNext(DataBufferUtils::release)
+                    .then(response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(entry.body()))));
+        }
+    }
+}
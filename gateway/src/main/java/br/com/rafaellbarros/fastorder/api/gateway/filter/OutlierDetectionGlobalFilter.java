@@ -0,0 +1,85 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.loadbalancer.OutlierDetector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Informa ao {@link OutlierDetector} o resultado de cada chamada à instância
+ * escolhida: erro (conexão recusada, timeout) ou 5xx contam como falha.
+ * <p>
+ * Cancelamentos (hedge perdedor, cliente que desistiu) não contam, exceto o do
+ * time limiter do circuit breaker: a instância travou. O breaker só registra o
+ * {@link TimeoutException} depois de cancelar a chamada, então a decisão fica
+ * para o commit da resposta do fallback.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutlierDetectionGlobalFilter implements GlobalFilter, Ordered {
+
+    private final OutlierDetector detector;
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 2;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        Object selected = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+
+        if (!(selected instanceof Response<?> response) || !(response.getServer() instanceof ServiceInstance instance)) {
+            return chain.filter(exchange);
+        }
+
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(() -> {
+                            if (timedOut(exchange)) {
+                                detector.onFailure(instance);
+                            }
+                        }));
+                        return;
+                    }
+
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+
+                    if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+                        detector.onFailure(instance);
+                    } else {
+                        detector.onSuccess(instance);
+                    }
+                });
+    }
+
+    /**
+     * O breaker grava a exceção no exchange da rota; tentativas de hedge e
+     * retry têm atributos próprios, então o exchange é desembrulhado até a raiz.
+     */
+    private static boolean timedOut(ServerWebExchange exchange) {
+
+        ServerWebExchange root = exchange;
+
+        while (root instanceof ServerWebExchangeDecorator decorator) {
+            root = decorator.getDelegate();
+        }
+
+        return root.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.routing.PathRewritePlan;
+import br.com.rafaellbarros.fastorder.api.gateway.routing.PathRewritePlans;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Aplica o {@link PathRewritePlan} da rota (por padrão, remove o id do
+ * serviço do início do path). Substitui o {@code RewritePath} do discovery
+ * locator: o plano é compilado no refresh de rotas, não a cada requisição.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PathRewriteGlobalFilter implements GlobalFilter {
+
+    private final PathRewritePlans plans;
+    private final Counter applied;
+    private final Counter skipped;
+
+    public PathRewriteGlobalFilter(PathRewritePlans plans, MeterRegistry meterRegistry) {
+        this.plans = plans;
+        this.applied = counter(meterRegistry, "applied");
+        this.skipped = counter(meterRegistry, "skipped");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        PathRewritePlan plan = route != null
+                ? plans.planFor(route.getId())
+                : PathRewritePlan.STRIP_FIRST_SEGMENT;
+
+        if (!plan.rewrites()) {
+            skipped.increment();
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest original = exchange.getRequest();
+        ServerWebExchangeUtils.addOriginalRequestUrl(exchange, original.getURI());
+
+        ServerHttpRequest request = original.mutate()
+                .path(plan.apply(original.getURI().getRawPath()))
+                .build();
+
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, request.getURI());
+        applied.increment();
+
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.path.rewrites")
+                .description("Reescritas de path por resultado")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.RateLimitProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.dto.response.ApiErrorResponseDTO;
+import br.com.rafaellbarros.fastorder.api.gateway.ratelimit.BatchedRateLimiter;
+import br.com.rafaellbarros.fastorder.api.gateway.ratelimit.RateLimitDecision;
+import br.com.rafaellbarros.fastorder.api.gateway.routing.RouteServiceIds;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Limita requisições por usuário (subject do JWT, ou IP quando anônimo) e
+ * serviço. Acima do limite responde 429 com {@code Retry-After}.
+ */
+@Component
+@Slf4j
+public class RateLimitGlobalFilter implements GlobalFilter, Ordered {
+
+    private final BatchedRateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final Counter allowed;
+    private final Counter rejected;
+
+    public RateLimitGlobalFilter(BatchedRateLimiter rateLimiter,
+                                 RateLimitProperties properties,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+
+        this.allowed = counter(meterRegistry, "allowed");
+        this.rejected = counter(meterRegistry, "rejected");
+    }
+
+    /**
+     * Logo depois da reescrita de path: recusa antes de qualquer outro trabalho.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        String serviceId = Objects.requireNonNullElse(RouteServiceIds.of(exchange), "none");
+
+        RateLimitProperties.Limit limit = properties.getServices().getOrDefault(serviceId, properties.getDefaults());
+
+        return exchange.getPrincipal()
+                .map(principal -> "sub:" + principal.getName())
+                .defaultIfEmpty("ip:" + remoteAddress(exchange))
+                .flatMap(identity -> rateLimiter.acquire(serviceId + ":" + identity, limit))
+                .flatMap(decision -> {
+                    if (decision.allowed()) {
+                        allowed.increment();
+                        return chain.filter(exchange);
+                    }
+                    rejected.increment();
+                    return tooManyRequests(exchange, decision);
+                });
+    }
+
+    private Mono<Void> tooManyRequests(ServerWebExchange exchange, RateLimitDecision decision) {
+
+        ServerHttpResponse response = exchange.getResponse();
+        long retryAfterSeconds = Math.max(1, (decision.retryAfter().toMillis() + 999) / 1000);
+
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        ApiErrorResponseDTO body = ApiErrorResponseDTO.builder()
+                .error("TOO_MANY_REQUESTS")
+                .message("Limite de requisições excedido. Tente novamente em " + retryAfterSeconds + "s")
+                .path(exchange.getRequest().getPath().value())
+                .timestamp(Instant.now())
+                .build();
+
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        } catch (JsonProcessingException e) {
+            log.error("Erro ao serializar resposta de rate limit", e);
+            return response.setComplete();
+        }
+    }
+
+    private static String remoteAddress(ServerWebExchange exchange) {
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        return address != null && address.getAddress() != null
+                ? address.getAddress().getHostAddress()
+                : "unknown";
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.ratelimit.requests")
+                .description("Requisições avaliadas pelo rate limiter por resultado")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.AccessLogProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.security.AuthOutcome;
+import br.com.rafaellbarros.fastorder.api.gateway.support.AsyncLogPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Mede toda requisição em "gateway.http.requests" (tags route, status e
+ * auth), com histograma para os percentis. O access log é opcional,
+ * amostrado e escrito fora do event loop.
+ */
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingWebFilter implements WebFilter, DisposableBean {
+
+    private static final String NO_ROUTE = "none";
+
+    private final MeterRegistry registry;
+    private final AccessLogProperties properties;
+    private final AsyncLogPublisher publisher;
+    private final Consumer<String> sink;
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RequestTimingWebFilter(MeterRegistry registry, AccessLogProperties properties) {
+        this(registry, properties,
+                new AsyncLogPublisher("access-log", properties.getQueueCapacity(), registry),
+                line -> log.info(line));
+    }
+
+    RequestTimingWebFilter(MeterRegistry registry,
+                           AccessLogProperties properties,
+                           AsyncLogPublisher publisher,
+                           Consumer<String> sink) {
+        this.registry = registry;
+        this.properties = properties;
+        this.publisher = publisher;
+        this.sink = sink;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        long start = System.nanoTime();
+
+        return chain.filter(exchange)
+                .doOnError(error -> log.error("Erro na requisição {}: {}", exchange.getRequest().getPath(), error.getMessage()))
+                .doFinally(signal -> complete(exchange, System.nanoTime() - start));
+    }
+
+    @Override
+    public void destroy() {
+        publisher.close();
+    }
+
+    private void complete(ServerWebExchange exchange, long nanos) {
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : NO_ROUTE;
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        AuthOutcome outcome = AuthOutcome.of(exchange);
+
+        timers.computeIfAbsent(new TimerKey(routeId, statusClass(status), outcome), this::timer)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        if (logged(status)) {
+            String method = exchange.getRequest().getMethod().name();
+            String path = exchange.getRequest().getPath().value();
+
+            publisher.offer(() -> sink.accept(String.format("ACCESS %s %s -> %s route=%s auth=%s (%.3f ms)",
+                    method, path, status != null ? status.value() : "-", routeId, outcome.tag(), nanos / 1_000_000.0)));
+        }
+    }
+
+    private boolean logged(HttpStatusCode status) {
+
+        if (!properties.isEnabled()) {
+            return false;
+        }
+
+        if (properties.isAlwaysLogServerErrors() && status != null && status.is5xxServerError()) {
+            return true;
+        }
+
+        double rate = properties.getSampleRate();
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private Timer timer(TimerKey key) {
+        return Timer.builder("gateway.http.requests")
+                .description("Requisições atendidas pelo gateway")
+                .tag("route", key.route())
+                .tag("status", key.status())
+                .tag("auth", key.outcome().tag())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+    }
+
+    private static String statusClass(HttpStatusCode status) {
+        return switch (status == null ? 0 : status.value() / 100) {
+            case 1 -> "1xx";
+            case 2 -> "2xx";
+            case 3 -> "3xx";
+            case 4 -> "4xx";
+            case 5 -> "5xx";
+            default -> "UNKNOWN";
+        };
+    }
+
+    private record TimerKey(String route, String status, AuthOutcome outcome) {
+    }
+}
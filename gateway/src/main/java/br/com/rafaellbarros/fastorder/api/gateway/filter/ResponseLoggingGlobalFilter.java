@@ -1,81 +1,284 @@
-package br.com.rafaellbarros.fastorder.api.gateway.filter;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.extern.slf4j.Slf4j;
-import org.reactivestreams.Publisher;
-import org.springframework.cloud.gateway.filter.GatewayFilterChain;
-import org.springframework.cloud.gateway.filter.GlobalFilter;
-import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
-import org.springframework.core.Ordered;
-import org.springframework.core.annotation.Order;
-import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferFactory;
-import org.springframework.core.io.buffer.DataBufferUtils;
-import org.springframework.http.server.reactive.ServerHttpResponse;
-import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
-import org.springframework.stereotype.Component;
-import org.springframework.web.server.ServerWebExchange;
-import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
-
-import java.nio.charset.StandardCharsets;
-
-@Component
-@Order(Ordered.LOWEST_PRECEDENCE)
-@Slf4j
-public class ResponseLoggingGlobalFilter implements GlobalFilter {
-
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-    @Override
-    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-
-        ServerHttpResponse originalResponse = exchange.getResponse();
-        DataBufferFactory bufferFactory = originalResponse.bufferFactory();
-
-        ServerHttpResponseDecorator decoratedResponse = new ServerHttpResponseDecorator(originalResponse) {
-
-            @Override
-            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
-
-                if (body instanceof Flux) {
-                    Flux<? extends DataBuffer> fluxBody = Flux.from(body);
-
-                    return super.writeWith(
-                            fluxBody.map(dataBuffer -> {
-
-                                byte[] content = new byte[dataBuffer.readableByteCount()];
-                                dataBuffer.read(content);
-
-                                DataBufferUtils.release(dataBuffer);
-
-                                String responseBody = new String(content, StandardCharsets.UTF_8);
-
-                                log.info("""
-                                
-                                🌐 GATEWAY RESPONSE
-                                Route: {}
-                                Method: {}
-                                Path: {}
-                                Status: {}
-                                Response Body: {}
-                                """,
-                                        exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR),
-                                        exchange.getRequest().getMethod(),
-                                        exchange.getRequest().getURI(),
-                                        getStatusCode(),
-                                        responseBody
-                                );
-
-                                return bufferFactory.wrap(content);
-                            })
-                    );
-                }
-
-                return super.writeWith(body);
-            }
-        };
-
-        return chain.filter(exchange.mutate().response(decoratedResponse).build());
-    }
-}
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.ResponseLoggingProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.support.AsyncLogPublisher;
+import br.com.rafaellbarros.fastorder.api.gateway.support.CapturedBody;
+import br.com.rafaellbarros.fastorder.api.gateway.support.ExchangeRecord;
+import br.com.rafaellbarros.fastorder.api.gateway.support.ExchangeRingBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Registra uma amostra das respostas do gateway.
+ * <p>
+ * Só as respostas sorteadas ({@code sample-rate}, ou a taxa da rota) são
+ * decoradas. O corpo é capturado até {@code max-body-bytes} e apenas para os
+ * content-types permitidos, sem copiar os buffers do Netty; a formatação e a
+ * escrita do log acontecem fora do event loop.
+ * <p>
+ * Toda troca (amostrada ou não) também vai para o {@link ExchangeRingBuffer};
+ * as amostradas levam junto o trecho do corpo.
+ * <p>
+ * Roda antes do {@link NettyWriteResponseFilter}, para que ele escreva na
+ * resposta decorada, e antes do {@link EdgeCacheGlobalFilter}, para registrar
+ * também as respostas servidas do cache. Como o {@link CompressionGlobalFilter}
+ * fica por fora deste decorador, ele entrega o corpo ainda sem comprimir por
+ * {@link #UNCOMPRESSED_BODY_ATTRIBUTE}.
+ */
+@Component
+@Slf4j
+public class ResponseLoggingGlobalFilter implements GlobalFilter, Ordered, DisposableBean {
+
+    /**
+     * Presente só nas trocas amostradas: recebe o corpo antes da compressão do
+     * gateway e o devolve com a captura encadeada.
+     */
+    public static final String UNCOMPRESSED_BODY_ATTRIBUTE = ResponseLoggingGlobalFilter.class.getName() + ".uncompressedBody";
+
+    private final ResponseLoggingProperties properties;
+    private final List<MediaType> contentTypes;
+    private final AsyncLogPublisher publisher;
+    private final ExchangeRingBuffer recentExchanges;
+    private final Consumer<String> sink;
+
+    @Autowired
+    public ResponseLoggingGlobalFilter(ResponseLoggingProperties properties,
+                                       ExchangeRingBuffer recentExchanges,
+                                       MeterRegistry meterRegistry) {
+        this(properties,
+                new AsyncLogPublisher("response-log", properties.getQueueCapacity(), meterRegistry),
+                recentExchanges,
+                line -> log.info(line));
+    }
+
+    ResponseLoggingGlobalFilter(ResponseLoggingProperties properties,
+                                AsyncLogPublisher publisher,
+                                ExchangeRingBuffer recentExchanges,
+                                Consumer<String> sink) {
+        this.properties = properties;
+        this.contentTypes = MediaType.parseMediaTypes(properties.getContentTypes());
+        this.publisher = publisher;
+        this.recentExchanges = recentExchanges;
+        this.sink = sink;
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 4;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        boolean logged = properties.isEnabled() && sampled(exchange);
+
+        if (!logged && !properties.getRecent().isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+
+        if (!logged) {
+            return chain.filter(exchange)
+                    .doFinally(signal -> complete(exchange, start, null));
+        }
+
+        Capture capture = new Capture();
+
+        exchange.getAttributes().put(UNCOMPRESSED_BODY_ATTRIBUTE, (UnaryOperator<Flux<DataBuffer>>) body -> {
+            capture.contentType = exchange.getResponse().getHeaders().getContentType();
+            return capture(capture, body);
+        });
+
+        ServerHttpResponseDecorator decoratedResponse = new ServerHttpResponseDecorator(exchange.getResponse()) {
+
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+
+                Flux<DataBuffer> counted = Flux.<DataBuffer>from(body)
+                        .doOnNext(buffer -> capture.bytes += buffer.readableByteCount());
+
+                // comprimido pelo gateway: o corpo já foi capturado antes da compressão
+                if (capture.body != null) {
+                    return super.writeWith(counted);
+                }
+
+                capture.contentType = getHeaders().getContentType();
+
+                // corpo comprimido pela origem não é legível no log
+                if (getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                    return super.writeWith(counted);
+                }
+
+                return super.writeWith(capture(capture, counted));
+            }
+        };
+
+        return chain.filter(exchange.mutate().response(decoratedResponse).build())
+                .doFinally(signal -> complete(exchange, start, capture));
+    }
+
+    @Override
+    public void destroy() {
+        publisher.close();
+    }
+
+    private boolean sampled(ServerWebExchange exchange) {
+
+        double rate = properties.getSampleRate();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        if (route != null) {
+            rate = properties.getRoutes().getOrDefault(route.getId(), rate);
+        }
+
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private Flux<DataBuffer> capture(Capture capture, Flux<DataBuffer> body) {
+
+        if (!capturable(capture.contentType)) {
+            return body;
+        }
+
+        CapturedBody captured = new CapturedBody(properties.getMaxBodyBytes());
+        capture.body = captured;
+
+        return body.doOnNext(captured::append);
+    }
+
+    private boolean capturable(MediaType contentType) {
+
+        if (contentType == null || properties.getMaxBodyBytes() <= 0) {
+            return false;
+        }
+
+        for (MediaType allowed : contentTypes) {
+            if (allowed.includes(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void complete(ServerWebExchange exchange, long start, Capture capture) {
+
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ServerHttpRequest request = exchange.getRequest();
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        long responseBytes = capture == null
+                ? exchange.getResponse().getHeaders().getContentLength()
+                : capture.bytes;
+
+        ExchangeRecord record = new ExchangeRecord(
+                recentExchanges.nextSequence(),
+                Instant.now(),
+                route != null ? route.getId() : null,
+                request.getMethod().name(),
+                request.getPath().value(),
+                status != null ? status.value() : 0,
+                latencyMillis,
+                request.getHeaders().getContentLength(),
+                responseBytes,
+                null,
+                false);
+
+        if (properties.getRecent().isEnabled()) {
+            recentExchanges.record(record);
+        }
+
+        if (capture != null) {
+            publish(record, capture);
+        }
+    }
+
+    private void publish(ExchangeRecord record, Capture capture) {
+
+        CapturedBody body = capture.body;
+
+        boolean accepted = publisher.offer(() -> {
+            try {
+                ExchangeRecord logged = record;
+
+                if (body != null) {
+                    MediaType contentType = capture.contentType;
+                    Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+                    logged = record.withBody(body.decode(charset), body.isTruncated());
+
+                    if (properties.getRecent().isEnabled()) {
+                        recentExchanges.record(logged);
+                    }
+                }
+                sink.accept(format(logged));
+            } finally {
+                if (body != null) {
+                    body.release();
+                }
+            }
+        });
+
+        if (!accepted && body != null) {
+            body.release();
+        }
+    }
+
+    static String format(ExchangeRecord record) {
+
+        StringBuilder line = new StringBuilder(128)
+                .append("🌐 GATEWAY RESPONSE route=").append(record.routeId())
+                .append(" method=").append(record.method())
+                .append(" path=").append(record.path())
+                .append(" status=").append(record.status())
+                .append(" latencyMs=").append(record.latencyMillis())
+                .append(" bytes=").append(record.responseBytes());
+
+        if (record.body() != null) {
+            line.append(" body=").append(record.body());
+
+            if (record.truncated()) {
+                line.append("…(truncado)");
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Estado da captura de uma resposta amostrada; escrito no event loop
+     * antes de {@link #complete}.
+     */
+    private static final class Capture {
+        private MediaType contentType;
+        private CapturedBody body;
+        private long bytes;
+    }
+}
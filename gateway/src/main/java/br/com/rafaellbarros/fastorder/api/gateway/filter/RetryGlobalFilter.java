@@ -0,0 +1,261 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.RetryProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.loadbalancer.ExcludedInstances;
+import br.com.rafaellbarros.fastorder.api.gateway.resilience.RequestBudget;
+import br.com.rafaellbarros.fastorder.api.gateway.support.AttemptExchange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Repete chamadas que falharam por conexão (reset, recusa) ou responderam com
+ * um dos {@code statuses} configurados, em outra instância a cada tentativa.
+ * <p>
+ * Só requisições idempotentes são repetidas: GET, HEAD e OPTIONS, e os demais
+ * métodos quando o cliente envia o header de idempotência (o corpo é
+ * guardado para ser reenviado). O total de retries é limitado por um
+ * {@link RequestBudget}, para que um serviço fora do ar não receba o tráfego
+ * multiplicado pelas tentativas, e as esperas entre elas têm jitter.
+ */
+@Component
+public class RetryGlobalFilter implements GlobalFilter, Ordered {
+
+    /**
+     * Presente no exchange original quando houve ao menos um retry.
+     */
+    public static final String RETRIED_ATTRIBUTE = RetryGlobalFilter.class.getName() + ".retried";
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(1);
+
+    private final RetryProperties properties;
+    private final RequestBudget budget;
+
+    private final Counter retried;
+    private final Counter rejected;
+
+    public RetryGlobalFilter(RetryProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.budget = new RequestBudget(properties.getBudgetRatio(), properties.getBudgetCapacity());
+
+        this.retried = counter(meterRegistry, "retried");
+        this.rejected = counter(meterRegistry, "rejected");
+
+        Gauge.builder("gateway.retry.budget", budget, RequestBudget::available)
+                .description("Retries disponíveis no orçamento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Antes do hedge e do load balancer: cada tentativa escolhe a instância de
+     * novo e pode ter o próprio hedge.
+     */
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 2;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        ServerHttpRequest request = exchange.getRequest();
+
+        if (!properties.isEnabled() || properties.getMaxAttempts() < 2 || !idempotent(request)) {
+            return chain.filter(exchange);
+        }
+
+        budget.deposit();
+
+        if (safe(request.getMethod())) {
+            return attempt(exchange, chain, Map.copyOf(exchange.getAttributes()), 1, new ArrayList<>());
+        }
+
+        // o corpo só pode ser lido uma vez: fica em memória para as próximas tentativas
+        return ServerWebExchangeUtils.cacheRequestBody(exchange, cachedRequest -> {
+            ServerWebExchange cached = exchange.mutate().request(cachedRequest).build();
+            return attempt(cached, chain, Map.copyOf(cached.getAttributes()), 1, new ArrayList<>());
+        });
+    }
+
+    private Mono<Void> attempt(ServerWebExchange exchange, GatewayFilterChain chain,
+                               Map<String, Object> initialAttributes, int number, List<ServiceInstance> tried) {
+
+        AttemptExchange attempt = new AttemptExchange(exchange, initialAttributes, new Gate(number));
+        tried.forEach(instance -> ExcludedInstances.add(attempt.getAttributes(), instance));
+
+        return chain.filter(attempt)
+                .then(Mono.defer(() -> attempt.commit()
+                        ? Mono.<Void>empty()
+                        : discard(attempt).then(Mono.error(new RetryableStatusException(attempt.statusCode())))))
+                .onErrorResume(error -> {
+
+                    ServiceInstance selected = attempt.selectedInstance();
+
+                    if (selected != null) {
+                        tried.add(selected);
+                    }
+
+                    if (attempt.isCommitted() || number >= properties.getMaxAttempts()) {
+                        return Mono.error(error);
+                    }
+
+                    // status retryable: o gate já retirou do orçamento
+                    if (!(error instanceof RetryableStatusException)) {
+
+                        if (!connectionFailure(error)) {
+                            return Mono.error(error);
+                        }
+                        if (!budget.tryWithdraw()) {
+                            rejected.increment();
+                            return Mono.error(error);
+                        }
+                    }
+
+                    retried.increment();
+                    exchange.getAttributes().put(RETRIED_ATTRIBUTE, Boolean.TRUE);
+
+                    return Mono.delay(backoff(number))
+                            .then(attempt(exchange, chain, initialAttributes, number + 1, tried));
+                });
+    }
+
+    /**
+     * Na chamada real o corpo não passa pela escrita da tentativa: o
+     * {@code NettyRoutingFilter} deixa a conexão nos atributos para o
+     * {@code NettyWriteResponseFilter}, que só enxerga o exchange original.
+     * A resposta recusada é drenada aqui para a conexão voltar ao pool; se a
+     * drenagem falhar ou demorar, a conexão é fechada.
+     */
+    private static Mono<Void> discard(AttemptExchange attempt) {
+
+        Object attribute = attempt.getAttributes().remove(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+
+        if (!(attribute instanceof Connection connection)) {
+            return Mono.empty();
+        }
+
+        return connection.inbound().receive()
+                .then()
+                .timeout(DRAIN_TIMEOUT)
+                .onErrorResume(error -> {
+                    connection.dispose();
+                    return Mono.empty();
+                });
+    }
+
+    private boolean idempotent(ServerHttpRequest request) {
+        return safe(request.getMethod())
+                || request.getHeaders().containsKey(properties.getIdempotencyKeyHeader());
+    }
+
+    private static boolean safe(HttpMethod method) {
+        return method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS;
+    }
+
+    /**
+     * Falhas de conexão (recusa, reset, fechamento prematuro). Timeouts ficam
+     * de fora: o serviço pode ter recebido e estar processando.
+     */
+    private static boolean connectionFailure(Throwable error) {
+
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Exponencial a partir de {@code backoff.first}, limitada a
+     * {@code backoff.max}, menos uma fração aleatória de até {@code jitter}.
+     */
+    private Duration backoff(int number) {
+
+        RetryProperties.Backoff backoff = properties.getBackoff();
+
+        long base = Math.min(backoff.getMax().toNanos(), backoff.getFirst().toNanos() << Math.min(number - 1, 20));
+        double jitter = backoff.getJitter() * ThreadLocalRandom.current().nextDouble();
+
+        return Duration.ofNanos((long) (base * (1 - jitter)));
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.retry.requests")
+                .description("Retries feitos e recusados por falta de orçamento")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Decide, na primeira escrita da tentativa, se o status vai para o
+     * cliente ou se a requisição será repetida.
+     */
+    private final class Gate implements AttemptExchange.CommitGate {
+
+        private final int number;
+
+        private Gate(int number) {
+            this.number = number;
+        }
+
+        @Override
+        public boolean tryCommit(AttemptExchange attempt) {
+
+            HttpStatusCode status = attempt.statusCode();
+
+            if (number >= properties.getMaxAttempts()
+                    || status == null
+                    || !properties.getStatuses().contains(status.value())) {
+                return true;
+            }
+
+            if (!budget.tryWithdraw()) {
+                rejected.increment();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Corpo escrito pela própria tentativa: é liberado e sinaliza o retry.
+         */
+        @Override
+        public Mono<Void> refused(AttemptExchange attempt, Publisher<? extends DataBuffer> body) {
+            return Flux.from(body)
+                    .doOnNext(DataBufferUtils::release)
+                    .then(Mono.error(new RetryableStatusException(attempt.statusCode())));
+        }
+    }
+
+    private static final class RetryableStatusException extends RuntimeException {
+
+        private RetryableStatusException(HttpStatusCode status) {
+            super("Status " + status + " do serviço", null, false, false);
+        }
+    }
+}
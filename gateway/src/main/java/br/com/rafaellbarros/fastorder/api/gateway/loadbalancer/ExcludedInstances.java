@@ -0,0 +1,49 @@
+package br.com.rafaellbarros.fastorder.api.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Instâncias que o load balancer deve evitar para uma requisição (a que já
+ * recebeu a tentativa original de um hedge ou retry), guardadas nos atributos
+ * do exchange; o {@link ExclusionAwareServiceInstanceListSupplier} as lê do
+ * {@link RequestDataContext}.
+ */
+public final class ExcludedInstances {
+
+    public static final String ATTRIBUTE = ExcludedInstances.class.getName() + ".instances";
+
+    private ExcludedInstances() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void add(Map<String, Object> attributes, ServiceInstance instance) {
+        ((Set<String>) attributes.computeIfAbsent(ATTRIBUTE, ignored -> new HashSet<String>())).add(keyOf(instance));
+    }
+
+    @SuppressWarnings("unchecked")
+    static Set<String> from(Request<?> request) {
+
+        if (request != null && request.getContext() instanceof RequestDataContext context
+                && context.getClientRequest() != null
+                && context.getClientRequest().getAttributes() != null) {
+
+            Object excluded = context.getClientRequest().getAttributes().get(ATTRIBUTE);
+
+            if (excluded instanceof Set<?>) {
+                return (Set<String>) excluded;
+            }
+        }
+        return Collections.emptySet();
+    }
+
+    static String keyOf(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.rafaellbarros.fastorder.api.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Remove da lista as instâncias em {@link ExcludedInstances}. Se nenhuma
+ * sobrar, devolve a lista completa: repetir a mesma instância é melhor que
+ * falhar a requisição.
+ */
+public class ExclusionAwareServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    public ExclusionAwareServiceInstanceListSupplier(ServiceInstanceListSupplier delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return delegate.get();
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get(Request request) {
+
+        Set<String> excluded = ExcludedInstances.from(request);
+
+        if (excluded.isEmpty()) {
+            return delegate.get(request);
+        }
+
+        return delegate.get(request).map(instances -> {
+
+            List<ServiceInstance> remaining = instances.stream()
+                    .filter(instance -> !excluded.contains(ExcludedInstances.keyOf(instance)))
+                    .toList();
+
+            return remaining.isEmpty() ? instances : remaining;
+        });
+    }
+}
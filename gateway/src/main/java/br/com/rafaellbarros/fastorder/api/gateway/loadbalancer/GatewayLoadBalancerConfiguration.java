@@ -0,0 +1,50 @@
+package br.com.rafaellbarros.fastorder.api.gateway.loadbalancer;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.GatewayLoadBalancerProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuração padrão dos contextos do Spring Cloud LoadBalancer (um por
+ * serviço), registrada em {@link br.com.rafaellbarros.fastorder.api.gateway.config.LoadBalancerConfig}.
+ * <p>
+ * Sem {@code @Configuration} de propósito: está dentro do component scan e
+ * seus beans só devem existir nos contextos filhos.
+ */
+public class GatewayLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier serviceInstanceListSupplier(ConfigurableApplicationContext context) {
+        return ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .withCaching()
+                .with((ctx, delegate) -> new OutlierEjectingServiceInstanceListSupplier(
+                        delegate, ctx.getBean(OutlierDetector.class)))
+                .with((ctx, delegate) -> new ExclusionAwareServiceInstanceListSupplier(delegate))
+                .build(context);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory clientFactory,
+            GatewayLoadBalancerProperties properties,
+            InstanceStatsRegistry stats) {
+
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        ObjectProvider<ServiceInstanceListSupplier> supplier =
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+
+        return switch (properties.getAlgorithm()) {
+            case PEAK_EWMA -> new PeakEwmaLoadBalancer(supplier, serviceId, stats);
+            case ROUND_ROBIN -> new RoundRobinLoadBalancer(supplier, serviceId);
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.rafaellbarros.fastorder.api.gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Requisições em andamento e latência (EWMA com pico) de uma instância.
+ * <p>
+ * Uma amostra acima da média substitui a média na hora, então uma instância
+ * que piora deixa de ser escolhida já na próxima decisão; amostras menores só
+ * puxam a média aos poucos. Sem amostras, a média decai para zero em
+ * {@code decayNanos}, e a instância volta a ser testada.
+ */
+public final class InstanceStats {
+
+    // custo de instância sem amostra com requisição em andamento: evita mandar várias antes de conhecê-la
+    private static final double UNKNOWN_LATENCY_PENALTY = 1e12;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final double decayNanos;
+
+    private double ewma;
+    private long lastObserved;
+
+    public InstanceStats(long decayNanos) {
+        this.decayNanos = Math.max(1, decayNanos);
+    }
+
+    public void start() {
+        inFlight.incrementAndGet();
+    }
+
+    public void complete(long rttNanos, long now) {
+        inFlight.decrementAndGet();
+        observe(rttNanos, now);
+    }
+
+    synchronized void observe(long rttNanos, long now) {
+
+        if (rttNanos > ewma) {
+            ewma = rttNanos;
+        } else {
+            double weight = Math.exp(-(now - lastObserved) / decayNanos);
+            ewma = ewma * weight + rttNanos * (1 - weight);
+        }
+        lastObserved = now;
+    }
+
+    /**
+     * Latência esperada multiplicada pela fila ({@code inFlight + 1}).
+     */
+    public synchronized double cost(long now) {
+
+        int pending = inFlight.get();
+
+        if (ewma == 0) {
+            return pending == 0 ? 0 : UNKNOWN_LATENCY_PENALTY + pending;
+        }
+        return latency(now) * (pending + 1);
+    }
+
+    public synchronized double latency(long now) {
+        return ewma * Math.exp(-(now - lastObserved) / decayNanos);
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.rafaellbarros.fastorder.api.gateway.loadbalancer;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.GatewayLoadBalancerProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * {@link InstanceStats} por instância ({@code host:port}), compartilhado entre
+ * o filtro que mede as chamadas e os load balancers de cada serviço.
+ * Instâncias sem tráfego por 10 minutos (removidas do discovery) saem do mapa.
+ */
+@Component
+public class InstanceStatsRegistry {
+
+    private final Cache<String, InstanceStats> stats = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    private final long decayNanos;
+
+    public InstanceStatsRegistry(GatewayLoadBalancerProperties properties) {
+        this.decayNanos = properties.getDecayTime().toNanos();
+    }
+
+    public InstanceStats statsFor(ServiceInstance instance) {
+        return stats.get(ExcludedInstances.keyOf(instance), ignored -> new InstanceStats(decayNanos));
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.rafaellbarros.fastorder.api.gateway.loadbalancer;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.OutlierDetectionProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detecção passiva de instâncias com falha: depois de
+ * {@code consecutive-failures} falhas seguidas a instância sai do pool do load
+ * balancer por um tempo que dobra a cada reincidência, e volta sozinha quando
+ * ele vence.
+ * <p>
+ * Cobre instâncias mortas que continuam no Eureka (lease longo, sem
+ * unregister no shutdown) sem esperar o circuit breaker do serviço inteiro
+ * abrir.
+ */
+@Slf4j
+@Component
+public class OutlierDetector {
+
+    private final OutlierDetectionProperties properties;
+    private final Cache<String, InstanceHealth> instances = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+
+    private final Counter ejections;
+
+    public OutlierDetector(OutlierDetectionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ejections = Counter.builder("gateway.loadbalancer.ejections")
+                .description("Instâncias ejetadas do pool por falhas seguidas")
+                .register(meterRegistry);
+    }
+
+    public void onSuccess(ServiceInstance instance) {
+
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        InstanceHealth health = instances.getIfPresent(ExcludedInstances.keyOf(instance));
+
+        if (health != null) {
+            health.success();
+        }
+    }
+
+    public void onFailure(ServiceInstance instance) {
+        onFailure(instance, System.nanoTime());
+    }
+
+    void onFailure(ServiceInstance instance, long now) {
+
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        String key = ExcludedInstances.keyOf(instance);
+        long ejectedFor = instances.get(key, ignored -> new InstanceHealth()).failure(now, properties);
+
+        if (ejectedFor > 0) {
+            ejections.increment();
+            log.warn("Instância {} de {} ejetada por {} ms após {} falhas seguidas",
+                    key, instance.getServiceId(), TimeUnit.NANOSECONDS.toMillis(ejectedFor),
+                    properties.getConsecutiveFailures());
+        }
+    }
+
+    public List<ServiceInstance> filter(List<ServiceInstance> candidates) {
+        return filter(candidates, System.nanoTime());
+    }
+
+    /**
+     * Remove as instâncias ejetadas, respeitando {@code max-ejection-percent}:
+     * acima do limite, as que voltariam primeiro continuam no pool.
+     */
+    List<ServiceInstance> filter(List<ServiceInstance> candidates, long now) {
+
+        if (!properties.isEnabled() || candidates.size() < 2) {
+            return candidates;
+        }
+
+        int maxEjected = candidates.size() * properties.getMaxEjectionPercent() / 100;
+        List<Map.Entry<ServiceInstance, Long>> ejected = new ArrayList<>();
+
+        for (ServiceInstance candidate : candidates) {
+            InstanceHealth health = instances.getIfPresent(ExcludedInstances.keyOf(candidate));
+            long remaining = health != null ? health.ejectedFor(now) : 0;
+
+            if (remaining > 0) {
+                ejected.add(Map.entry(candidate, remaining));
+            }
+        }
+
+        if (ejected.isEmpty() || maxEjected == 0) {
+            return candidates;
+        }
+
+        List<ServiceInstance> removed = ejected.stream()
+                .sorted(Map.Entry.<ServiceInstance, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(maxEjected)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        return candidates.stream()
+                .filter(candidate -> !removed.contains(candidate))
+                .toList();
+    }
+
+    public List<OutlierState> snapshot() {
+
+        long now = System.nanoTime();
+
+        return instances.asMap().entrySet().stream()
+                .map(entry -> entry.getValue().state(entry.getKey(), now))
+                .sorted(Comparator.comparing(OutlierState::instance))
+                .toList();
+    }
+
+    /**
+     * Estado de uma instância para o endpoint de actuator.
+     */
+    public record OutlierState(String instance, int consecutiveFailures, int ejections, long ejectedForMillis) {
+    }
+
+    private static final class InstanceHealth {
+
+        // 2^16 vezes o tempo base já passa de qualquer máximo razoável
+        private static final int MAX_DOUBLINGS = 16;
+
+        private int consecutiveFailures;
+        private int ejections;
+        private long ejectedUntil;
+        private boolean everEjected;
+
+        synchronized void success() {
+            consecutiveFailures = 0;
+        }
+
+        /**
+         * @return por quanto tempo (ns) a instância foi ejetada, ou 0
+         */
+        synchronized long failure(long now, OutlierDetectionProperties properties) {
+
+            // falhas de chamadas que já estavam em andamento na ejeção
+            if (ejectedFor(now) > 0) {
+                return 0;
+            }
+
+            if (++consecutiveFailures < properties.getConsecutiveFailures()) {
+                return 0;
+            }
+
+            long base = properties.getBaseEjectionTime().toNanos();
+
+            if (everEjected) {
+                ejections = (int) Math.max(0, ejections - (now - ejectedUntil) / Math.max(1, base));
+            }
+
+            long duration = Math.min(properties.getMaxEjectionTime().toNanos(),
+                    base << Math.min(ejections, MAX_DOUBLINGS));
+
+            ejections++;
+            consecutiveFailures = 0;
+            ejectedUntil = now + duration;
+            everEjected = true;
+            return duration;
+        }
+
+        synchronized long ejectedFor(long now) {
+            return everEjected ? Math.max(0, ejectedUntil - now) : 0;
+        }
+
+        synchronized OutlierState state(String key, long now) {
+            return new OutlierState(key, consecutiveFailures, ejections,
+                    TimeUnit.NANOSECONDS.toMillis(ejectedFor(now)));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.rafaellbarros.fastorder.api.gateway.ratelimit;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.RateLimitProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.support.SingleFlight;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rate limiter distribuído que gasta permissões localmente.
+ * <p>
+ * Cada nó retira do {@link RateLimitPermitStore} um lote de até
+ * {@code batch-size} permissões por chave e as consome em memória; o Redis só
+ * é consultado quando o lote acaba ou vence ({@code lease-ttl}). Pedidos de
+ * lote concorrentes para a mesma chave são agrupados num só. Uma chave sem
+ * saldo fica recusada localmente até o {@code Retry-After} informado pelo
+ * Redis, então um cliente abusivo também não gera chamadas ao Redis.
+ */
+@Slf4j
+@Component
+public class BatchedRateLimiter {
+
+    private static final int MAX_LEASE_ATTEMPTS = 3;
+
+    private final RateLimitPermitStore store;
+    private final RateLimitProperties properties;
+    private final Cache<String, Batch> batches;
+    private final SingleFlight<String, PermitLease> leases = new SingleFlight<>();
+
+    private final Counter granted;
+    private final Counter exhausted;
+    private final Counter failed;
+
+    public BatchedRateLimiter(RateLimitPermitStore store, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+
+        this.batches = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumKeys())
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .build();
+
+        this.granted = counter(meterRegistry, "granted");
+        this.exhausted = counter(meterRegistry, "exhausted");
+        this.failed = counter(meterRegistry, "error");
+    }
+
+    public Mono<RateLimitDecision> acquire(String key, RateLimitProperties.Limit limit) {
+        return Mono.defer(() -> acquire(key, limit, batches.get(key, ignored -> new Batch()), 1));
+    }
+
+    private Mono<RateLimitDecision> acquire(String key, RateLimitProperties.Limit limit, Batch batch, int attempt) {
+
+        long now = System.nanoTime();
+
+        if (batch.tryAcquire(now)) {
+            return Mono.just(RateLimitDecision.ALLOWED);
+        }
+
+        long deniedFor = batch.deniedUntil - now;
+
+        if (deniedFor > 0) {
+            return Mono.just(RateLimitDecision.rejected(Duration.ofNanos(deniedFor)));
+        }
+
+        int requested = Math.max(1, Math.min(properties.getBatchSize(), limit.getBurstCapacity()));
+
+        return leases.execute(key, () -> store.lease(key, limit, requested)
+                        .doOnNext(lease -> batch.refill(lease, properties.getLeaseTtl())))
+                .flatMap(lease -> {
+
+                    if (lease.granted() == 0) {
+                        exhausted.increment();
+                        return Mono.just(RateLimitDecision.rejected(lease.retryAfter()));
+                    }
+
+                    granted.increment();
+
+                    // o lote pode ter sido consumido por quem aguardava o mesmo pedido
+                    return attempt < MAX_LEASE_ATTEMPTS
+                            ? acquire(key, limit, batch, attempt + 1)
+                            : Mono.just(RateLimitDecision.rejected(Duration.ofSeconds(1)));
+                })
+                .onErrorResume(error -> {
+                    failed.increment();
+                    log.warn("Falha ao obter permissões de rate limit: {}", error.getMessage());
+                    return Mono.just(properties.isFailOpen()
+                            ? RateLimitDecision.ALLOWED
+                            : RateLimitDecision.rejected(Duration.ofSeconds(1)));
+                });
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.ratelimit.leases")
+                .description("Pedidos de lote de permissões ao Redis por resultado")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Lote local de uma chave.
+     */
+    static final class Batch {
+
+        private final AtomicInteger permits = new AtomicInteger();
+        private volatile long expiresAt;
+        private volatile long deniedUntil;
+
+        boolean tryAcquire(long now) {
+
+            if (now - expiresAt > 0) {
+                permits.set(0);
+                return false;
+            }
+
+            int current;
+            do {
+                current = permits.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(current, current - 1));
+
+            return true;
+        }
+
+        void refill(PermitLease lease, Duration ttl) {
+
+            long now = System.nanoTime();
+
+            if (lease.granted() == 0) {
+                deniedUntil = now + lease.retryAfter().toNanos();
+                return;
+            }
+
+            boolean expired = now - expiresAt > 0;
+
+            // validade antes do saldo: quem ler a validade antiga zera um saldo que ainda não chegou
+            expiresAt = now + ttl.toNanos();
+
+            // permissões vencidas do lote anterior não somam ao novo
+            if (expired) {
+                permits.set(lease.granted());
+            } else {
+                permits.addAndGet(lease.granted());
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.rafaellbarros.fastorder.api.gateway.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Resultado de um pedido de lote ao {@link RateLimitPermitStore}.
+ *
+ * @param granted    permissões concedidas (pode ser menos que o pedido, ou zero)
+ * @param retryAfter quando {@code granted == 0}, quanto falta para haver uma permissão
+ */
+public record PermitLease(int granted, Duration retryAfter) {
+}
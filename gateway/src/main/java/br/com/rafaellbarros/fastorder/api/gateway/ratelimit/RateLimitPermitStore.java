@@ -0,0 +1,15 @@
+package br.com.rafaellbarros.fastorder.api.gateway.ratelimit;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.RateLimitProperties;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bucket compartilhado entre os nós do gateway.
+ */
+public interface RateLimitPermitStore {
+
+    /**
+     * Retira até {@code requested} permissões do bucket da chave.
+     */
+    Mono<PermitLease> lease(String key, RateLimitProperties.Limit limit, int requested);
+}
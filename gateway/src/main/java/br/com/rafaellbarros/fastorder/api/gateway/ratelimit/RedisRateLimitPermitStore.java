@@ -0,0 +1,46 @@
+package br.com.rafaellbarros.fastorder.api.gateway.ratelimit;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.RateLimitProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Token bucket no Redis (script {@code scripts/rate-limit-lease.lua}), com
+ * recarga calculada no próprio Redis a partir do {@code TIME} do servidor.
+ */
+@Component
+public class RedisRateLimitPermitStore implements RateLimitPermitStore {
+
+    private static final String KEY_PREFIX = "rate_limit:";
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<Long>> LEASE_SCRIPT = (RedisScript) RedisScript.of(
+            new ClassPathResource("scripts/rate-limit-lease.lua"), List.class);
+
+    private final ReactiveStringRedisTemplate redis;
+
+    public RedisRateLimitPermitStore(ReactiveStringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public Mono<PermitLease> lease(String key, RateLimitProperties.Limit limit, int requested) {
+
+        // hash tag: as duas chaves do bucket ficam no mesmo slot do cluster
+        String prefix = KEY_PREFIX + "{" + key + "}";
+
+        return redis.execute(LEASE_SCRIPT,
+                        List.of(prefix + ":tokens", prefix + ":timestamp"),
+                        List.of(Integer.toString(limit.getReplenishRate()),
+                                Integer.toString(limit.getBurstCapacity()),
+                                Integer.toString(requested)))
+                .next()
+                .map(result -> new PermitLease(result.get(0).intValue(), Duration.ofMillis(result.get(1))));
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.rafaellbarros.fastorder.api.gateway.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Percentis de latência sobre as últimas {@code size} amostras de um serviço.
+ * <p>
+ * O registro é uma escrita num anel; o percentil é calculado ordenando uma
+ * cópia do anel, no máximo uma vez a cada {@code refreshNanos}, e reutilizado
+ * entre as chamadas.
+ */
+public final class LatencyTracker {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final long refreshNanos;
+
+    private volatile Snapshot snapshot = new Snapshot(0, new long[0]);
+
+    public LatencyTracker(int size, long refreshNanos) {
+        this.samples = new AtomicLongArray(size);
+        this.refreshNanos = refreshNanos;
+    }
+
+    public void record(long nanos) {
+        long index = recorded.getAndIncrement();
+        samples.set((int) (index % samples.length()), nanos);
+    }
+
+    /**
+     * @return o percentil em nanos, ou {@code -1} com menos de {@code minSamples} amostras
+     */
+    public long percentile(double percentile, int minSamples) {
+
+        if (recorded.get() < minSamples) {
+            return -1;
+        }
+
+        Snapshot current = snapshot;
+        long now = System.nanoTime();
+
+        if (current.sorted.length == 0 || now - current.takenAt > refreshNanos) {
+            current = refresh(now);
+        }
+
+        int index = (int) Math.ceil(percentile * current.sorted.length) - 1;
+        return current.sorted[Math.max(0, Math.min(current.sorted.length - 1, index))];
+    }
+
+    private Snapshot refresh(long now) {
+
+        int filled = (int) Math.min(recorded.get(), samples.length());
+        long[] sorted = new long[filled];
+
+        for (int i = 0; i < filled; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+
+        // corrida entre threads só recalcula duas vezes; qualquer uma serve
+        Snapshot refreshed = new Snapshot(now, sorted);
+        snapshot = refreshed;
+        return refreshed;
+    }
+
+    private record Snapshot(long takenAt, long[] sorted) {
+    }
+}
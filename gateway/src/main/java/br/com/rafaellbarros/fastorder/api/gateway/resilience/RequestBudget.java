@@ -0,0 +1,58 @@
+package br.com.rafaellbarros.fastorder.api.gateway.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orçamento de requisições extras (hedges, retries) proporcional ao tráfego:
+ * cada requisição elegível deposita {@code ratio} e cada extra consome 1, com
+ * saldo máximo de {@code capacity}. Assim as extras nunca passam de
+ * {@code ratio} do tráfego mais uma rajada de {@code capacity}, mesmo com o
+ * serviço inteiro lento.
+ */
+public final class RequestBudget {
+
+    // saldo em milésimos, para depósitos fracionários sem ponto flutuante
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    public RequestBudget(double ratio, int capacity) {
+        this.deposit = Math.round(ratio * SCALE);
+        this.capacity = Math.max(1, capacity) * SCALE;
+        this.balance = new AtomicLong(this.capacity);
+    }
+
+    public void deposit() {
+
+        long current;
+
+        do {
+            current = balance.get();
+
+            if (current >= capacity) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(capacity, current + deposit)));
+    }
+
+    public boolean tryWithdraw() {
+
+        long current;
+
+        do {
+            current = balance.get();
+
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+
+        return true;
+    }
+
+    public double available() {
+        return (double) balance.get() / SCALE;
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.rafaellbarros.fastorder.api.gateway.resilience;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.CircuitBreakerProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Um circuit breaker e um time limiter por rota: o filtro
+ * {@code CircuitBreaker} de {@code default-filters}, sem {@code name}, usa o id
+ * da rota, e este customizer monta a configuração de cada id a partir de
+ * {@code fastorder.gateway.circuit-breaker}. Uma falha num serviço só abre o
+ * breaker das rotas dele.
+ * <p>
+ * As métricas vêm do {@code TaggedCircuitBreakerMetrics} já ligado ao registry
+ * ({@code name} = id da rota). Quando uma rota some (serviço saiu do discovery
+ * ou rota removida pela administração), breaker, time limiter e métricas são
+ * removidos no próximo refresh de rotas.
+ */
+@Slf4j
+@Component
+public class RouteCircuitBreakers implements Customizer<ReactiveResilience4JCircuitBreakerFactory>,
+        ApplicationListener<RefreshRoutesResultEvent> {
+
+    private final CircuitBreakerProperties properties;
+    private final Set<String> configured = ConcurrentHashMap.newKeySet();
+
+    private volatile CircuitBreakerRegistry circuitBreakers;
+    private volatile TimeLimiterRegistry timeLimiters;
+
+    public RouteCircuitBreakers(CircuitBreakerProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void customize(ReactiveResilience4JCircuitBreakerFactory factory) {
+        this.circuitBreakers = factory.getCircuitBreakerRegistry();
+        this.timeLimiters = factory.getTimeLimiterRegistry();
+
+        factory.configureDefault(this::configuration);
+    }
+
+    Resilience4JConfigBuilder.Resilience4JCircuitBreakerConfiguration configuration(String id) {
+
+        configured.add(id);
+        CircuitBreakerProperties.Breaker breaker = breakerFor(id, properties);
+
+        return new Resilience4JConfigBuilder(id)
+                .circuitBreakerConfig(CircuitBreakerConfig.custom()
+                        .slidingWindowSize(breaker.getSlidingWindowSize())
+                        .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+                        .failureRateThreshold(breaker.getFailureRateThreshold())
+                        .waitDurationInOpenState(breaker.getWaitDurationInOpenState())
+                        .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedNumberOfCallsInHalfOpenState())
+                        .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                        .build())
+                .timeLimiterConfig(TimeLimiterConfig.custom()
+                        .timeoutDuration(breaker.getTimeout())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Rotas da administração usam o próprio id; as do discovery têm id
+     * {@code <prefixo>_<serviceId>}.
+     */
+    static CircuitBreakerProperties.Breaker breakerFor(String id, CircuitBreakerProperties properties) {
+
+        CircuitBreakerProperties.Breaker exact = properties.getServices().get(id);
+
+        if (exact != null) {
+            return exact;
+        }
+
+        for (Map.Entry<String, CircuitBreakerProperties.Breaker> entry : properties.getServices().entrySet()) {
+            if (id.endsWith("_" + entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return properties.getDefaults();
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshRoutesResultEvent event) {
+
+        if (!event.isSuccess() || !(event.getSource() instanceof RouteLocator locator)) {
+            return;
+        }
+
+        locator.getRoutes()
+                .map(Route::getId)
+                .collect(Collectors.toSet())
+                .subscribe(this::retain, error -> log.warn("Falha ao limpar circuit breakers: {}", error.getMessage()));
+    }
+
+    void retain(Set<String> routeIds) {
+
+        if (circuitBreakers == null) {
+            return;
+        }
+
+        for (String id : configured) {
+            if (!routeIds.contains(id) && circuitBreakers.remove(id).isPresent()) {
+                timeLimiters.remove(id);
+                log.info("Circuit breaker da rota {} removido", id);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.rafaellbarros.fastorder.api.gateway.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.FilterDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+
+import java.util.Set;
+
+/**
+ * Reescrita de path de uma rota, decidida uma vez por refresh de rotas.
+ * <p>
+ * Por padrão remove o primeiro segmento (o id do serviço). A rota pode pedir
+ * outra quantidade via metadata {@value #STRIP_PREFIX_METADATA}; rotas que já
+ * declaram um filtro de reescrita próprio ficam sem plano. A aplicação percorre
+ * o path com {@code indexOf}, sem regex.
+ */
+@Slf4j
+public final class PathRewritePlan {
+
+    public static final String STRIP_PREFIX_METADATA = "strip-prefix";
+
+    public static final PathRewritePlan NONE = new PathRewritePlan(0);
+    public static final PathRewritePlan STRIP_FIRST_SEGMENT = new PathRewritePlan(1);
+
+    private static final Set<String> REWRITING_FILTERS = Set.of("RewritePath", "StripPrefix", "SetPath", "PrefixPath");
+
+    private final int segments;
+
+    private PathRewritePlan(int segments) {
+        this.segments = segments;
+    }
+
+    public static PathRewritePlan stripSegments(int segments) {
+        if (segments < 0) {
+            throw new IllegalArgumentException("segments não pode ser negativo");
+        }
+        return switch (segments) {
+            case 0 -> NONE;
+            case 1 -> STRIP_FIRST_SEGMENT;
+            default -> new PathRewritePlan(segments);
+        };
+    }
+
+    public static PathRewritePlan compile(RouteDefinition route) {
+
+        for (FilterDefinition filter : route.getFilters()) {
+            if (REWRITING_FILTERS.contains(filter.getName())) {
+                return NONE;
+            }
+        }
+
+        Object stripPrefix = route.getMetadata().get(STRIP_PREFIX_METADATA);
+
+        if (stripPrefix != null) {
+            try {
+                return stripSegments(Integer.parseInt(stripPrefix.toString().trim()));
+            } catch (IllegalArgumentException e) {
+                // NumberFormatException incluída: a rota segue só com os próprios filtros
+                log.warn("Metadata {} inválida na rota {}: {}", STRIP_PREFIX_METADATA, route.getId(), stripPrefix);
+                return NONE;
+            }
+        }
+        return STRIP_FIRST_SEGMENT;
+    }
+
+    public boolean rewrites() {
+        return segments > 0;
+    }
+
+    public int segments() {
+        return segments;
+    }
+
+    /**
+     * @return o path sem os primeiros segmentos; {@code "/"} se nada sobrar
+     */
+    public String apply(String rawPath) {
+
+        int index = 0;
+        int length = rawPath.length();
+
+        for (int i = 0; i < segments && index < length; i++) {
+            int next = rawPath.indexOf('/', index + 1);
+            index = next == -1 ? length : next;
+        }
+
+        return index >= length ? "/" : rawPath.substring(index);
+    }
+
+    @Override
+    public String toString() {
+        return "PathRewritePlan[strip=" + segments + "]";
+    }
+}
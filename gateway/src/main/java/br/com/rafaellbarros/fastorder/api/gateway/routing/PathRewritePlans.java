@@ -0,0 +1,55 @@
+package br.com.rafaellbarros.fastorder.api.gateway.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Planos de reescrita por id de rota, recompilados a cada refresh de rotas.
+ * Rotas ainda sem plano (ex.: antes do primeiro refresh) usam
+ * {@link PathRewritePlan#STRIP_FIRST_SEGMENT}.
+ */
+@Component
+@Slf4j
+public class PathRewritePlans implements ApplicationListener<RefreshRoutesResultEvent> {
+
+    private final RouteDefinitionLocator locator;
+
+    private volatile Map<String, PathRewritePlan> plans = Map.of();
+
+    public PathRewritePlans(RouteDefinitionLocator locator, MeterRegistry meterRegistry) {
+        this.locator = locator;
+
+        Gauge.builder("gateway.path.rewrite.plans", this, owner -> owner.plans.size())
+                .description("Rotas com plano de reescrita compilado")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshRoutesResultEvent event) {
+
+        if (!event.isSuccess()) {
+            return;
+        }
+
+        locator.getRouteDefinitions()
+                .collectMap(RouteDefinition::getId, PathRewritePlan::compile)
+                .subscribe(
+                        compiled -> {
+                            plans = Map.copyOf(compiled);
+                            log.debug("Planos de reescrita recompilados: {}", compiled);
+                        },
+                        error -> log.warn("Falha ao compilar planos de reescrita: {}", error.getMessage()));
+    }
+
+    public PathRewritePlan planFor(String routeId) {
+        return plans.getOrDefault(routeId, PathRewritePlan.STRIP_FIRST_SEGMENT);
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.rafaellbarros.fastorder.api.gateway.routing;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Locale;
+
+/**
+ * Id do serviço de destino (host do {@code lb://}, em minúsculas) da rota do
+ * exchange; é a chave das configurações por serviço do gateway.
+ */
+public final class RouteServiceIds {
+
+    private RouteServiceIds() {
+    }
+
+    /**
+     * @return o id do serviço, ou {@code null} se o exchange não tem rota
+     */
+    public static String of(ServerWebExchange exchange) {
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        if (route == null) {
+            return null;
+        }
+
+        String host = route.getUri().getHost();
+        return host != null ? host.toLowerCase(Locale.ROOT) : route.getId();
+    }
+}
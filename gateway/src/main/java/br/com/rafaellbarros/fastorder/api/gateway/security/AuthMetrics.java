@@ -0,0 +1,145 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import br.com.rafaellbarros.fastorder.api.gateway.support.SingleFlight;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas do caminho de autenticação ("gateway.auth.*").
+ * <p>
+ * Os timers têm a tag {@code outcome} ({@code success}, {@code invalid} para
+ * token recusado, {@code error} para falha de infraestrutura) e publicam
+ * histograma para os percentis no Prometheus. Os meters são criados uma vez;
+ * no caminho da requisição só há {@code record}.
+ * <p>
+ * Os contadores de hit/miss do L1/L2 ficam no {@link JwtAuthenticationCache}
+ * e os do cache negativo no {@link InvalidTokenCache}.
+ */
+@Component
+public class AuthMetrics {
+
+    private final MeterRegistry registry;
+
+    private final OutcomeTimers requests;
+    private final OutcomeTimers decode;
+    private final OutcomeTimers verify;
+    private final OutcomeTimers conversion;
+
+    private final DistributionSummary tokenSize;
+    private final AtomicInteger active = new AtomicInteger();
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        this.requests = new OutcomeTimers(registry, "gateway.auth.requests",
+                "Autenticação completa no CachedJwtAuthenticationManager", true);
+        this.decode = new OutcomeTimers(registry, "gateway.auth.decode",
+                "Decode do JWT (parse, assinatura e validação das claims) em cache miss", true);
+        this.verify = new OutcomeTimers(registry, "gateway.auth.verify",
+                "Verificação da assinatura com o keyring local", true);
+        this.conversion = new OutcomeTimers(registry, "gateway.auth.conversion",
+                "Conversão das claims em authorities", false);
+
+        this.tokenSize = DistributionSummary.builder("gateway.auth.token.size")
+                .description("Tamanho do bearer token recebido")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(256.0)
+                .maximumExpectedValue(16_384.0)
+                .register(registry);
+
+        Gauge.builder("gateway.auth.requests.active", active, AtomicInteger::get)
+                .description("Autenticações em andamento")
+                .register(registry);
+    }
+
+    public <T> Mono<T> timeAuthentication(Mono<T> authentication) {
+        return Mono.defer(() -> {
+            active.incrementAndGet();
+            return time(authentication, requests)
+                    .doFinally(signal -> active.decrementAndGet());
+        });
+    }
+
+    public <T> Mono<T> timeDecode(Mono<T> decoding) {
+        return time(decoding, decode);
+    }
+
+    public <T> Mono<T> timeVerify(Mono<T> verification) {
+        return time(verification, verify);
+    }
+
+    public <T> Mono<T> timeConversion(Mono<T> converting) {
+        return time(converting, conversion);
+    }
+
+    public void recordTokenSize(String token) {
+        tokenSize.record(token.length());
+    }
+
+    void bindSingleFlight(SingleFlight<?, ?> misses) {
+
+        FunctionCounter.builder("gateway.auth.coalesced", misses, SingleFlight::coalesced)
+                .description("Autenticações que reaproveitaram um decode em andamento")
+                .register(registry);
+
+        Gauge.builder("gateway.auth.inflight", misses, SingleFlight::inFlight)
+                .description("Tokens distintos sendo resolvidos no momento")
+                .register(registry);
+    }
+
+    private static <T> Mono<T> time(Mono<T> source, OutcomeTimers timers) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+
+            return source
+                    .doOnSuccess(value -> timers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(error -> timers.of(error).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private static final class OutcomeTimers {
+
+        private final Timer success;
+        private final Timer invalid;
+        private final Timer error;
+
+        private OutcomeTimers(MeterRegistry registry, String name, String description, boolean histogram) {
+            this.success = timer(registry, name, description, histogram, "success");
+            this.invalid = timer(registry, name, description, histogram, "invalid");
+            this.error = timer(registry, name, description, histogram, "error");
+        }
+
+        private Timer of(Throwable error) {
+            return error instanceof BadJwtException || error instanceof InvalidBearerTokenException
+                    ? invalid
+                    : this.error;
+        }
+
+        private static Timer timer(MeterRegistry registry, String name, String description,
+                                   boolean histogram, String outcome) {
+
+            Timer.Builder builder = Timer.builder(name)
+                    .description(description)
+                    .tag("outcome", outcome);
+
+            if (histogram) {
+                builder.publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(100_000))
+                        .maximumExpectedValue(Duration.ofSeconds(5));
+            }
+            return builder.register(registry);
+        }
+    }
+}
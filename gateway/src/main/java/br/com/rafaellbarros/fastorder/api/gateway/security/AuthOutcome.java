@@ -0,0 +1,41 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Resultado da autenticação de uma requisição, guardado no exchange pelo
+ * {@code JwtAuthWebFilter} para as métricas de requisição.
+ */
+public enum AuthOutcome {
+
+    SUCCESS("success"),
+    INVALID("invalid"),
+    ERROR("error"),
+    ANONYMOUS("anonymous");
+
+    public static final String ATTRIBUTE = AuthOutcome.class.getName();
+
+    private final String tag;
+
+    AuthOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    public static AuthOutcome of(AuthenticationException exception) {
+        return exception instanceof AuthenticationServiceException ? ERROR : INVALID;
+    }
+
+    public static AuthOutcome of(ServerWebExchange exchange) {
+        return exchange.getAttributeOrDefault(ATTRIBUTE, ANONYMOUS);
+    }
+
+    public void mark(ServerWebExchange exchange) {
+        exchange.getAttributes().put(ATTRIBUTE, this);
+    }
+}
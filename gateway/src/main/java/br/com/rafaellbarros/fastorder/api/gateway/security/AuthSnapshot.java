@@ -0,0 +1,77 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Representação mínima de uma autenticação JWT guardada no Redis: apenas o
+ * necessário para reconstruir o {@link JwtAuthenticationToken} no gateway.
+ */
+public record AuthSnapshot(String subject,
+                           Instant issuedAt,
+                           Instant expiresAt,
+                           List<String> authorities,
+                           Map<String, String> claims) {
+
+    public static AuthSnapshot from(JwtAuthenticationToken authentication, Collection<String> claimNames) {
+
+        Jwt jwt = authentication.getToken();
+
+        Map<String, String> claims = new LinkedHashMap<>();
+        for (String name : claimNames) {
+            Object value = jwt.getClaims().get(name);
+            if (value instanceof String text) {
+                claims.put(name, text);
+            }
+        }
+
+        List<String> authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        return new AuthSnapshot(jwt.getSubject(), jwt.getIssuedAt(), jwt.getExpiresAt(), authorities, claims);
+    }
+
+    public JwtAuthenticationToken toAuthentication(String token) {
+
+        Jwt.Builder jwt = Jwt.withTokenValue(token)
+                .header("typ", "JWT")
+                .claims(values -> values.putAll(claims));
+
+        if (subject != null) {
+            jwt.subject(subject);
+        }
+        if (issuedAt != null) {
+            jwt.issuedAt(issuedAt);
+        }
+        if (expiresAt != null) {
+            jwt.expiresAt(expiresAt);
+        }
+
+        List<GrantedAuthority> grantedAuthorities = authorities.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+
+        return new JwtAuthenticationToken(jwt.build(), grantedAuthorities);
+    }
+
+    /**
+     * Tempo de vida restante do token, limitado a {@code max}.
+     */
+    public Duration remainingLifetime(Instant now, Duration max) {
+        if (expiresAt == null) {
+            return max;
+        }
+        Duration remaining = Duration.between(now, expiresAt);
+        return remaining.compareTo(max) < 0 ? remaining : max;
+    }
+}
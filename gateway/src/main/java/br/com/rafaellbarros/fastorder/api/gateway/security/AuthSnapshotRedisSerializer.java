@@ -0,0 +1,109 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codificação binária compacta do {@link AuthSnapshot}:
+ * versão, sub, iat, exp, authorities e claims selecionadas.
+ */
+public class AuthSnapshotRedisSerializer implements RedisSerializer<AuthSnapshot> {
+
+    private static final byte VERSION = 1;
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    @Override
+    public byte[] serialize(AuthSnapshot snapshot) {
+
+        if (snapshot == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeNullableString(out, snapshot.subject());
+            out.writeLong(snapshot.issuedAt() != null ? snapshot.issuedAt().getEpochSecond() : ABSENT);
+            out.writeLong(snapshot.expiresAt() != null ? snapshot.expiresAt().getEpochSecond() : ABSENT);
+
+            out.writeShort(snapshot.authorities().size());
+            for (String authority : snapshot.authorities()) {
+                out.writeUTF(authority);
+            }
+
+            out.writeShort(snapshot.claims().size());
+            for (Map.Entry<String, String> claim : snapshot.claims().entrySet()) {
+                out.writeUTF(claim.getKey());
+                out.writeUTF(claim.getValue());
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Falha ao serializar AuthSnapshot", e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public AuthSnapshot deserialize(byte[] bytes) {
+
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new SerializationException("Versão de AuthSnapshot não suportada: " + version);
+            }
+
+            String subject = readNullableString(in);
+            Instant issuedAt = readInstant(in);
+            Instant expiresAt = readInstant(in);
+
+            int authorityCount = in.readUnsignedShort();
+            List<String> authorities = new ArrayList<>(authorityCount);
+            for (int i = 0; i < authorityCount; i++) {
+                authorities.add(in.readUTF());
+            }
+
+            int claimCount = in.readUnsignedShort();
+            Map<String, String> claims = new LinkedHashMap<>(claimCount * 2);
+            for (int i = 0; i < claimCount; i++) {
+                claims.put(in.readUTF(), in.readUTF());
+            }
+
+            return new AuthSnapshot(subject, issuedAt, expiresAt, List.copyOf(authorities), claims);
+        } catch (IOException e) {
+            throw new SerializationException("Falha ao desserializar AuthSnapshot", e);
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        long epochSecond = in.readLong();
+        return epochSecond == ABSENT ? null : Instant.ofEpochSecond(epochSecond);
+    }
+}
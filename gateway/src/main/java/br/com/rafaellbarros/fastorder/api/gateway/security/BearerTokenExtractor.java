@@ -0,0 +1,40 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lê o token do header "Authorization: Bearer ...". Sem o header (ou com outro
+ * esquema) a requisição segue como anônima.
+ */
+public class BearerTokenExtractor implements ServerAuthenticationConverter {
+
+    private static final String PREFIX = "Bearer ";
+
+    @Override
+    public Mono<Authentication> convert(ServerWebExchange exchange) {
+
+        String token = extract(exchange.getRequest().getHeaders());
+
+        return token != null
+                ? Mono.just(new BearerTokenAuthenticationToken(token))
+                : Mono.empty();
+    }
+
+    /**
+     * @return o token, ou {@code null} se não houver header Bearer
+     */
+    public static String extract(HttpHeaders headers) {
+
+        String authHeader = headers.getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authHeader != null && authHeader.startsWith(PREFIX)) {
+            return authHeader.substring(PREFIX.length());
+        }
+        return null;
+    }
+}
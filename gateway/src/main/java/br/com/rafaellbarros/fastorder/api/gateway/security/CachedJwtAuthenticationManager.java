@@ -1,25 +1,37 @@
 package br.com.rafaellbarros.fastorder.api.gateway.security;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
+/**
+ * Autenticação 100% reativa: não há troca de thread nem chamadas bloqueantes,
+ * o fluxo permanece no event loop do Netty do início ao fim.
+ */
 @Component
 @RequiredArgsConstructor
 public class CachedJwtAuthenticationManager implements ReactiveAuthenticationManager {
 
     private final JwtAuthCacheService cacheService;
+    private final AuthMetrics metrics;
 
     @Override
     public Mono<Authentication> authenticate(Authentication authentication) {
 
         String token = (String) authentication.getCredentials();
+        metrics.recordTokenSize(token);
 
-        return Mono.fromCallable(() -> cacheService.decodeAndConvertBlocking(token))
-                .subscribeOn(Schedulers.boundedElastic())
-                .cast(Authentication.class);
+        return metrics.timeAuthentication(cacheService.authenticate(token)
+                .cast(Authentication.class)
+                .onErrorMap(BadJwtException.class,
+                        ex -> new InvalidBearerTokenException(ex.getMessage(), ex))
+                .onErrorMap(JwtException.class,
+                        ex -> new AuthenticationServiceException(ex.getMessage(), ex)));
     }
 }
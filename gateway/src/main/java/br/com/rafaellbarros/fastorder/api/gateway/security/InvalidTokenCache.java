@@ -0,0 +1,57 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.AuthCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache negativo dos tokens rejeitados, indexado pelo {@link TokenDigest}.
+ * <p>
+ * Um token já recusado volta a ser recusado sem decode nem verificação de
+ * assinatura. Só guarda {@link BadJwtException}: falhas transitórias (JWKS
+ * indisponível, por exemplo) não entram aqui, nem um "kid" desconhecido que
+ * ainda não foi confirmado por uma recarga do JWKS. O tamanho é limitado e as
+ * entradas vivem pouco, então um ataque com tokens aleatórios apenas
+ * rotaciona o cache.
+ */
+@Component
+public class InvalidTokenCache {
+
+    private final Cache<String, String> rejected;
+
+    public InvalidTokenCache(AuthCacheProperties properties, MeterRegistry meterRegistry) {
+
+        this.rejected = Caffeine.newBuilder()
+                .maximumSize(properties.getNegative().getMaximumSize())
+                .expireAfterWrite(properties.getNegative().getTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, rejected, "gateway.auth.negative");
+    }
+
+    /**
+     * @return o motivo da rejeição anterior, ou {@code null} se o token não está no cache
+     */
+    public String getIfRejected(String key) {
+        return rejected.getIfPresent(key);
+    }
+
+    public void reject(String key, BadJwtException ex) {
+        if (!(ex instanceof UnknownKeyIdException)) {
+            rejected.put(key, String.valueOf(ex.getMessage()));
+        }
+    }
+
+    public void evict(String key) {
+        rejected.invalidate(key);
+    }
+
+    public long size() {
+        return rejected.estimatedSize();
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.JwksProperties;
+import br.com.rafaellbarros.security.jwks.JwksKeySet;
+import br.com.rafaellbarros.security.jwks.UnknownKeyIdRefreshLimiter;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Chaveiro local das chaves públicas do Keycloak.
+ * <p>
+ * O JWKS é baixado na inicialização e atualizado em background num
+ * {@link JwksKeySet}; a verificação da assinatura é sempre local. Um "kid"
+ * desconhecido dispara uma nova busca, limitada a uma a cada
+ * {@code unknownKidRefreshInterval}.
+ */
+@Slf4j
+@Component
+public class JwksKeyring {
+
+    private final WebClient webClient;
+    private final JwksProperties properties;
+
+    private volatile JwksKeySet keys = JwksKeySet.EMPTY;
+
+    private final AtomicReference<Mono<Void>> inFlightRefresh = new AtomicReference<>();
+    private final UnknownKeyIdRefreshLimiter unknownKidRefreshes;
+
+    private Disposable scheduledRefresh;
+
+    public JwksKeyring(WebClient.Builder webClientBuilder, JwksProperties properties) {
+        this.webClient = webClientBuilder.build();
+        this.properties = properties;
+        this.unknownKidRefreshes = new UnknownKeyIdRefreshLimiter(properties.getUnknownKidRefreshInterval());
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduledRefresh = Flux.interval(Duration.ZERO, properties.getRefreshInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh().onErrorResume(error -> Mono.empty()))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.dispose();
+        }
+    }
+
+    /**
+     * Verifica a assinatura do token com a chave local correspondente ao "kid"
+     * e devolve as claims. Usado como processador do {@code NimbusReactiveJwtDecoder}.
+     */
+    public Mono<JWTClaimsSet> verify(JWT jwt) {
+
+        if (!(jwt instanceof SignedJWT signedJwt)) {
+            return Mono.error(new BadJwtException("Token não assinado"));
+        }
+
+        String keyId = signedJwt.getHeader().getKeyID();
+        JwksKeySet current = keys;
+
+        if (current.contains(keyId)) {
+            return verifyWith(current, signedJwt);
+        }
+
+        return refreshForUnknownKeyId()
+                .flatMap(reloaded -> {
+                    JwksKeySet refreshed = keys;
+
+                    if (refreshed.contains(keyId)) {
+                        return verifyWith(refreshed, signedJwt);
+                    }
+                    return Mono.error(reloaded
+                            ? new BadJwtException("Chave de assinatura desconhecida: " + keyId)
+                            : new UnknownKeyIdException("Chave de assinatura desconhecida, JWKS não recarregado: " + keyId));
+                });
+    }
+
+    /**
+     * Recarrega o JWKS. Chamadas concorrentes compartilham a mesma requisição.
+     */
+    public Mono<Void> refresh() {
+        return Mono.defer(() -> {
+            Mono<Void> current = inFlightRefresh.get();
+            if (current != null) {
+                return current;
+            }
+
+            Mono<Void> fetch = fetch()
+                    .doFinally(signal -> inFlightRefresh.set(null))
+                    .cache();
+
+            return inFlightRefresh.compareAndSet(null, fetch) ? fetch : refresh();
+        });
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * @return {@code true} se o JWKS foi de fato recarregado, {@code false} se
+     * a recarga foi limitada ou falhou
+     */
+    private Mono<Boolean> refreshForUnknownKeyId() {
+
+        Mono<Void> current = inFlightRefresh.get();
+        if (current != null) {
+            return current.thenReturn(true).onErrorReturn(false);
+        }
+
+        if (!unknownKidRefreshes.tryAcquire()) {
+            return Mono.just(false);
+        }
+
+        log.info("Kid desconhecido, recarregando JWKS de {}", properties.getUri());
+        return refresh().thenReturn(true).onErrorReturn(false);
+    }
+
+    private Mono<Void> fetch() {
+        return webClient.get()
+                .uri(properties.getUri())
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(properties.getTimeout())
+                .map(JwksKeyring::parse)
+                .doOnNext(loaded -> {
+                    keys = loaded;
+                    log.debug("JWKS carregado: {} chaves", loaded.size());
+                })
+                .doOnError(error -> log.warn("Falha ao carregar JWKS de {}: {}",
+                        properties.getUri(), error.getMessage()))
+                .then();
+    }
+
+    private static JwksKeySet parse(String json) {
+        try {
+            return JwksKeySet.parse(json);
+        } catch (ParseException e) {
+            throw new JwtException("JWKS inválido: " + e.getMessage(), e);
+        }
+    }
+
+    private static Mono<JWTClaimsSet> verifyWith(JwksKeySet keys, SignedJWT jwt) {
+        try {
+            return Mono.just(keys.verify(jwt));
+        } catch (BadJWTException e) {
+            return Mono.error(new BadJwtException(e.getMessage(), e));
+        } catch (JOSEException e) {
+            return Mono.error(new JwtException("Falha ao verificar assinatura: " + e.getMessage(), e));
+        }
+    }
+}
@@ -1,22 +1,78 @@
 package br.com.rafaellbarros.fastorder.api.gateway.security;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
+import br.com.rafaellbarros.fastorder.api.gateway.support.SingleFlight;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
-import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 @Service
-@RequiredArgsConstructor
 public class JwtAuthCacheService {
 
     private final ReactiveJwtDecoder jwtDecoder;
     private final KeycloakJwtAuthenticationConverter converter;
+    private final JwtAuthenticationCache cache;
+    private final InvalidTokenCache invalidTokens;
+    private final TokenRevocationRegistry revocations;
+    private final AuthMetrics metrics;
 
-    @Cacheable(value = "auth:jwt", key = "#token")
-    public AbstractAuthenticationToken decodeAndConvertBlocking(String token) {
-        Jwt jwt = jwtDecoder.decode(token).block();
-        return converter.convert(jwt).block();
+    /**
+     * Misses concorrentes do mesmo token compartilham uma única consulta ao
+     * Redis, decode e conversão.
+     */
+    private final SingleFlight<String, AbstractAuthenticationToken> misses = new SingleFlight<>();
+
+    public JwtAuthCacheService(ReactiveJwtDecoder jwtDecoder,
+                               KeycloakJwtAuthenticationConverter converter,
+                               JwtAuthenticationCache cache,
+                               InvalidTokenCache invalidTokens,
+                               TokenRevocationRegistry revocations,
+                               AuthMetrics metrics) {
+        this.jwtDecoder = jwtDecoder;
+        this.converter = converter;
+        this.cache = cache;
+        this.invalidTokens = invalidTokens;
+        this.revocations = revocations;
+        this.metrics = metrics;
+
+        metrics.bindSingleFlight(misses);
+    }
+
+    public Mono<AbstractAuthenticationToken> authenticate(String token) {
+        return Mono.defer(() -> {
+            String key = TokenDigest.of(token);
+
+            AbstractAuthenticationToken authentication = cache.getLocal(key);
+
+            if (authentication != null) {
+                return checkRevocation(key, authentication);
+            }
+
+            String rejection = invalidTokens.getIfRejected(key);
+
+            if (rejection != null) {
+                return Mono.error(new BadJwtException(rejection));
+            }
+
+            return misses.execute(key, () -> cache.getRemote(key, token)
+                            .switchIfEmpty(Mono.defer(() -> decodeAndConvert(key, token))))
+                    .flatMap(resolved -> checkRevocation(key, resolved));
+        });
+    }
+
+    private Mono<AbstractAuthenticationToken> checkRevocation(String key,
+                                                              AbstractAuthenticationToken authentication) {
+        return revocations.isRevoked(key, authentication)
+                ? Mono.error(new BadJwtException("Token revogado"))
+                : Mono.just(authentication);
+    }
+
+    private Mono<AbstractAuthenticationToken> decodeAndConvert(String key, String token) {
+        return metrics.timeDecode(jwtDecoder.decode(token))
+                .flatMap(jwt -> metrics.timeConversion(Mono.defer(() -> converter.convert(jwt))))
+                .flatMap(authentication -> cache.put(key, authentication)
+                        .thenReturn(authentication))
+                .doOnError(BadJwtException.class, ex -> invalidTokens.reject(key, ex));
     }
-}
\ No newline at end of file
+}
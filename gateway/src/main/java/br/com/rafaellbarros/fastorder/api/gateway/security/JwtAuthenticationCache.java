@@ -0,0 +1,194 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.AuthCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Cache de autenticação em dois níveis: L1 em memória (Caffeine) na frente do
+ * {@link JwtAuthenticationStore} no Redis. O Redis só é consultado quando o L1
+ * não tem a entrada, e falhas do Redis são tratadas como miss.
+ * <p>
+ * Ambos os níveis são indexados pelo {@link TokenDigest}; o Redis guarda um
+ * {@link AuthSnapshot} com TTL igual ao tempo de vida restante do token.
+ */
+@Slf4j
+@Component
+public class JwtAuthenticationCache {
+
+    private final Cache<String, AbstractAuthenticationToken> local;
+    private final JwtAuthenticationStore store;
+    private final Duration storeTtl;
+    private final List<String> snapshotClaims;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    public JwtAuthenticationCache(AuthCacheProperties properties,
+                                  JwtAuthenticationStore store,
+                                  MeterRegistry meterRegistry) {
+
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getLocal().getMaximumSize())
+                .expireAfter(new TokenLifetimeExpiry(properties.getLocal().getTtl()))
+                .build();
+
+        this.store = store;
+        this.storeTtl = properties.getRedis().getTtl();
+        this.snapshotClaims = List.copyOf(properties.getRedis().getClaims());
+
+        this.localHits = counter(meterRegistry, "local", "hit");
+        this.localMisses = counter(meterRegistry, "local", "miss");
+        this.redisHits = counter(meterRegistry, "redis", "hit");
+        this.redisMisses = counter(meterRegistry, "redis", "miss");
+    }
+
+    /**
+     * @param key   {@link TokenDigest} do token
+     * @param token token bruto, usado para reconstruir a autenticação a partir do snapshot do Redis
+     */
+    public Mono<AbstractAuthenticationToken> get(String key, String token) {
+        return Mono.defer(() -> {
+            AbstractAuthenticationToken authentication = getLocal(key);
+
+            return authentication != null
+                    ? Mono.just(authentication)
+                    : getRemote(key, token);
+        });
+    }
+
+    /**
+     * Consulta apenas o L1; retorna {@code null} no miss.
+     */
+    public AbstractAuthenticationToken getLocal(String key) {
+
+        AbstractAuthenticationToken authentication = local.getIfPresent(key);
+
+        if (authentication != null) {
+            localHits.increment();
+        } else {
+            localMisses.increment();
+        }
+        return authentication;
+    }
+
+    /**
+     * Consulta o Redis e promove o hit para o L1.
+     */
+    public Mono<AbstractAuthenticationToken> getRemote(String key, String token) {
+        return store.get(key)
+                .onErrorResume(error -> {
+                    log.warn("Falha ao consultar cache de autenticação no Redis: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .<AbstractAuthenticationToken>map(snapshot -> snapshot.toAuthentication(token))
+                .doOnNext(found -> {
+                    redisHits.increment();
+                    local.put(key, found);
+                })
+                .switchIfEmpty(Mono.fromRunnable(redisMisses::increment));
+    }
+
+    public Mono<Void> put(String key, AbstractAuthenticationToken authentication) {
+        return Mono.defer(() -> {
+            local.put(key, authentication);
+
+            if (!(authentication instanceof JwtAuthenticationToken jwtAuthentication)) {
+                return Mono.empty();
+            }
+
+            AuthSnapshot snapshot = AuthSnapshot.from(jwtAuthentication, snapshotClaims);
+            Duration ttl = snapshot.remainingLifetime(Instant.now(), storeTtl);
+
+            if (ttl.isNegative() || ttl.isZero()) {
+                return Mono.empty();
+            }
+
+            return store.put(key, snapshot, ttl)
+                    .onErrorResume(error -> {
+                        log.warn("Falha ao gravar cache de autenticação no Redis: {}", error.getMessage());
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    /**
+     * Remove a entrada do L1 e do Redis.
+     */
+    public Mono<Void> evict(String key) {
+        return Mono.defer(() -> {
+            local.invalidate(key);
+
+            return store.delete(key)
+                    .onErrorResume(error -> {
+                        log.warn("Falha ao remover cache de autenticação no Redis: {}", error.getMessage());
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    public void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    /**
+     * Remove do L1 todas as entradas do usuário. Varre o cache inteiro, então
+     * é reservado para revogações (raras), nunca para o caminho da requisição.
+     */
+    public void evictLocalBySubject(String subject) {
+        local.asMap().values().removeIf(authentication -> subject.equals(authentication.getName()));
+    }
+
+    private static Counter counter(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("gateway.auth.cache")
+                .description("Consultas ao cache de autenticação JWT por nível")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Expira a entrada no menor valor entre o TTL configurado e o "exp" do token.
+     */
+    private record TokenLifetimeExpiry(Duration ttl)
+            implements Expiry<String, AbstractAuthenticationToken> {
+
+        @Override
+        public long expireAfterCreate(String key, AbstractAuthenticationToken value, long currentTime) {
+
+            long ttlNanos = ttl.toNanos();
+
+            if (value instanceof JwtAuthenticationToken jwtAuth && jwtAuth.getToken().getExpiresAt() != null) {
+                Duration remaining = Duration.between(Instant.now(), jwtAuth.getToken().getExpiresAt());
+                return Math.max(0, Math.min(ttlNanos, remaining.toNanos()));
+            }
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, AbstractAuthenticationToken value,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, AbstractAuthenticationToken value,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Nível L2 (compartilhado entre instâncias) do cache de autenticação JWT,
+ * indexado pelo {@link TokenDigest} do token.
+ */
+public interface JwtAuthenticationStore {
+
+    Mono<AuthSnapshot> get(String tokenDigest);
+
+    Mono<Void> put(String tokenDigest, AuthSnapshot snapshot, Duration ttl);
+
+    Mono<Void> delete(String tokenDigest);
+}
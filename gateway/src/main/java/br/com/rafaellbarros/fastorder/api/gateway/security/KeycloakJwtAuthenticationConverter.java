@@ -1,41 +1,94 @@
-package br.com.rafaellbarros.fastorder.api.gateway.security;
-
-import org.springframework.core.convert.converter.Converter;
-import org.springframework.security.authentication.AbstractAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
-import org.springframework.stereotype.Component;
-import reactor.core.publisher.Mono;
-
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-
-@Component
-public class KeycloakJwtAuthenticationConverter
-        implements Converter<Jwt, Mono<AbstractAuthenticationToken>> {
-
-    @Override
-    public Mono<AbstractAuthenticationToken> convert(Jwt jwt) {
-
-        Collection<GrantedAuthority> authorities = new ArrayList<>();
-
-        Map<String, Object> realmAccess = jwt.getClaim("realm_access");
-
-        if (realmAccess != null && realmAccess.get("roles") != null) {
-            List<String> roles = (List<String>) realmAccess.get("roles");
-
-            roles.forEach(role ->
-                    authorities.add(
-                            new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())
-                    )
-            );
-        }
-
-        return Mono.just(new JwtAuthenticationToken(jwt, authorities));
-    }
-}
-
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converte "realm_access.roles" em authorities "ROLE_*".
+ * <p>
+ * Poucas combinações de roles se repetem em quase todos os tokens, então a
+ * lista de authorities é calculada uma vez por combinação e compartilhada
+ * (imutável); cada role vira uma única instância de authority, reaproveitada
+ * entre combinações. Os caches são limitados: acima de {@link #MAX_ROLE_SETS}
+ * combinações a conversão é feita sem guardar o resultado.
+ */
+@Component
+public class KeycloakJwtAuthenticationConverter
+        implements Converter<Jwt, Mono<AbstractAuthenticationToken>> {
+
+    static final int MAX_ROLE_SETS = 1_024;
+
+    private final Map<List<?>, List<GrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
+    private final Map<String, GrantedAuthority> authorityByRole = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<AbstractAuthenticationToken> convert(Jwt jwt) {
+        return Mono.just(new JwtAuthenticationToken(jwt, authorities(jwt)));
+    }
+
+    List<GrantedAuthority> authorities(Jwt jwt) {
+
+        if (!(jwt.getClaims().get("realm_access") instanceof Map<?, ?> realmAccess)
+                || !(realmAccess.get("roles") instanceof List<?> roles)
+                || roles.isEmpty()) {
+            return List.of();
+        }
+
+        List<GrantedAuthority> cached = authoritiesByRoles.get(roles);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        boolean onlyStrings = true;
+
+        for (Object role : roles) {
+            if (role instanceof String name) {
+                authorities.add(authority(name));
+            } else {
+                onlyStrings = false;
+            }
+        }
+
+        List<GrantedAuthority> shared = List.copyOf(authorities);
+
+        // a chave é copiada: a lista da claim não é nossa
+        if (onlyStrings && authoritiesByRoles.size() < MAX_ROLE_SETS) {
+            authoritiesByRoles.putIfAbsent(List.copyOf(roles), shared);
+        }
+        return shared;
+    }
+
+    int cachedRoleSets() {
+        return authoritiesByRoles.size();
+    }
+
+    private GrantedAuthority authority(String role) {
+
+        GrantedAuthority authority = authorityByRole.get(role);
+
+        if (authority != null) {
+            return authority;
+        }
+
+        authority = new SimpleGrantedAuthority("ROLE_" + role.toUpperCase(Locale.ROOT));
+
+        if (authorityByRole.size() < MAX_ROLE_SETS) {
+            authorityByRole.putIfAbsent(role, authority);
+        }
+        return authority;
+    }
+}
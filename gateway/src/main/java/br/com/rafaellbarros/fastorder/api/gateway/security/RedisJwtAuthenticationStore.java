@@ -0,0 +1,34 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+public class RedisJwtAuthenticationStore implements JwtAuthenticationStore {
+
+    private static final String KEY_PREFIX = "auth:jwt:";
+
+    private final ReactiveRedisTemplate<String, AuthSnapshot> authSnapshotRedisTemplate;
+
+    @Override
+    public Mono<AuthSnapshot> get(String tokenDigest) {
+        return authSnapshotRedisTemplate.opsForValue().get(KEY_PREFIX + tokenDigest);
+    }
+
+    @Override
+    public Mono<Void> put(String tokenDigest, AuthSnapshot snapshot, Duration ttl) {
+        return authSnapshotRedisTemplate.opsForValue()
+                .set(KEY_PREFIX + tokenDigest, snapshot, ttl)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> delete(String tokenDigest) {
+        return authSnapshotRedisTemplate.delete(KEY_PREFIX + tokenDigest).then();
+    }
+}
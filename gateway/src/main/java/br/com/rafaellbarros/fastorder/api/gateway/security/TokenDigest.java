@@ -0,0 +1,32 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Chave compacta (SHA-256, Base64 URL-safe, 43 caracteres) derivada do token bruto.
+ * Usada no lugar do token nas chaves de cache, evitando chaves de 1–2 KB no Redis.
+ */
+public final class TokenDigest {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    });
+
+    private TokenDigest() {
+    }
+
+    public static String of(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return ENCODER.encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.TokenRevocationProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Estado local das revogações, consultado em toda autenticação (inclusive nos
+ * hits do L1). Um token é recusado se o seu digest foi revogado ou se foi
+ * emitido antes da revogação do seu usuário ("sub").
+ * <p>
+ * Cada revogação aplicada aqui também remove as entradas correspondentes do
+ * L1 desta instância.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private final Cache<String, Instant> tokens;
+    private final Cache<String, Instant> subjects;
+    private final JwtAuthenticationCache cache;
+
+    public TokenRevocationRegistry(TokenRevocationProperties properties, JwtAuthenticationCache cache) {
+
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getRetention())
+                .build();
+
+        this.subjects = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getRetention())
+                .build();
+
+        this.cache = cache;
+    }
+
+    public void revokeToken(String key, Instant revokedAt) {
+        tokens.put(key, revokedAt);
+        cache.evictLocal(key);
+    }
+
+    public void revokeSubject(String subject, Instant revokedAt) {
+        subjects.asMap().merge(subject, revokedAt, (current, next) -> next.isAfter(current) ? next : current);
+        cache.evictLocalBySubject(subject);
+    }
+
+    public boolean isRevoked(String key, Authentication authentication) {
+
+        if (tokens.getIfPresent(key) != null) {
+            return true;
+        }
+
+        Instant subjectRevokedAt = subjects.getIfPresent(authentication.getName());
+
+        if (subjectRevokedAt == null) {
+            return false;
+        }
+
+        // sem "iat" não há como provar que o token é posterior à revogação
+        Instant issuedAt = authentication instanceof JwtAuthenticationToken jwtAuthentication
+                ? jwtAuthentication.getToken().getIssuedAt()
+                : null;
+
+        return issuedAt == null || !issuedAt.isAfter(subjectRevokedAt);
+    }
+}
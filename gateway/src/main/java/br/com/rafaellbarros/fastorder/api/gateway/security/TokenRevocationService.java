@@ -0,0 +1,153 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.TokenRevocationProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Revogação de tokens e usuários válida para todo o cluster.
+ * <p>
+ * A revogação é gravada em hashes no Redis (para instâncias que sobem depois)
+ * e publicada no canal {@code fastorder.gateway.auth.revocation.channel};
+ * cada instância aplica a mensagem no seu {@link TokenRevocationRegistry},
+ * que descarta as entradas do L1 na hora.
+ * <p>
+ * Mensagens: {@code token:<digest>:<epochMillis>} e {@code subject:<epochMillis>:<sub>}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "fastorder.gateway.auth.revocation.enabled", havingValue = "true", matchIfMissing = true)
+public class TokenRevocationService {
+
+    static final String TOKENS_KEY = "auth:revoked:tokens";
+    static final String SUBJECTS_KEY = "auth:revoked:subjects";
+
+    private static final String TOKEN_PREFIX = "token:";
+    private static final String SUBJECT_PREFIX = "subject:";
+
+    private final ReactiveStringRedisTemplate redis;
+    private final TokenRevocationRegistry registry;
+    private final JwtAuthenticationCache cache;
+    private final TokenRevocationProperties properties;
+
+    private Disposable subscription;
+
+    public TokenRevocationService(ReactiveStringRedisTemplate redis,
+                                  TokenRevocationRegistry registry,
+                                  JwtAuthenticationCache cache,
+                                  TokenRevocationProperties properties) {
+        this.redis = redis;
+        this.registry = registry;
+        this.cache = cache;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() {
+        // assina o canal antes de carregar o estado persistido para não perder
+        // revogações publicadas durante a carga
+        subscription = redis.listenToChannelLater(properties.getChannel())
+                .flatMapMany(messages -> loadPersisted().thenMany(messages))
+                .map(ReactiveSubscription.Message::getMessage)
+                .doOnNext(this::apply)
+                .doOnError(error -> log.warn("Canal de revogação indisponível: {}", error.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(500))
+                        .maxBackoff(properties.getReconnectDelay()))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public Mono<Void> revokeToken(String token) {
+        return Mono.defer(() -> {
+            String key = TokenDigest.of(token);
+            long now = System.currentTimeMillis();
+
+            registry.revokeToken(key, Instant.ofEpochMilli(now));
+
+            return redis.opsForHash().put(TOKENS_KEY, key, Long.toString(now))
+                    .then(cache.evict(key))
+                    .then(redis.convertAndSend(properties.getChannel(), TOKEN_PREFIX + key + ":" + now))
+                    .then();
+        });
+    }
+
+    public Mono<Void> revokeSubject(String subject) {
+        return Mono.defer(() -> {
+            long now = System.currentTimeMillis();
+
+            registry.revokeSubject(subject, Instant.ofEpochMilli(now));
+
+            return redis.opsForHash().put(SUBJECTS_KEY, subject, Long.toString(now))
+                    .then(redis.convertAndSend(properties.getChannel(), SUBJECT_PREFIX + now + ":" + subject))
+                    .then();
+        });
+    }
+
+    void apply(String message) {
+        try {
+            if (message.startsWith(TOKEN_PREFIX)) {
+                String[] parts = message.substring(TOKEN_PREFIX.length()).split(":", 2);
+                registry.revokeToken(parts[0], Instant.ofEpochMilli(Long.parseLong(parts[1])));
+
+            } else if (message.startsWith(SUBJECT_PREFIX)) {
+                String[] parts = message.substring(SUBJECT_PREFIX.length()).split(":", 2);
+                registry.revokeSubject(parts[1], Instant.ofEpochMilli(Long.parseLong(parts[0])));
+
+            } else {
+                log.warn("Mensagem de revogação desconhecida: {}", message);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Mensagem de revogação inválida: {}", message);
+        }
+    }
+
+    /**
+     * Carrega as revogações ainda dentro da retenção e apaga as vencidas.
+     */
+    private Mono<Void> loadPersisted() {
+        Instant oldest = Instant.now().minus(properties.getRetention());
+
+        return Flux.concat(
+                        load(TOKENS_KEY, oldest, registry::revokeToken),
+                        load(SUBJECTS_KEY, oldest, registry::revokeSubject))
+                .then();
+    }
+
+    private Mono<Void> load(String hash, Instant oldest, Revocation revocation) {
+        return redis.<String, String>opsForHash().entries(hash)
+                .concatMap(entry -> {
+                    Instant revokedAt = Instant.ofEpochMilli(Long.parseLong(entry.getValue()));
+
+                    if (revokedAt.isBefore(oldest)) {
+                        return redis.opsForHash().remove(hash, entry.getKey()).then();
+                    }
+
+                    revocation.apply(entry.getKey(), revokedAt);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @FunctionalInterface
+    private interface Revocation {
+        void apply(String key, Instant revokedAt);
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+
+/**
+ * Token assinado com um "kid" ausente do chaveiro, sem que o JWKS tenha sido
+ * recarregado para confirmar (recarga limitada ou com falha). O token é
+ * recusado, mas pode ser de uma chave recém-rotacionada: não entra no
+ * {@link InvalidTokenCache}.
+ */
+public class UnknownKeyIdException extends BadJwtException {
+
+    public UnknownKeyIdException(String message) {
+        super(message);
+    }
+}
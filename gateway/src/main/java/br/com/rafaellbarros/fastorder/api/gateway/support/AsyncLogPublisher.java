@@ -0,0 +1,64 @@
+package br.com.rafaellbarros.fastorder.api.gateway.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executa a escrita de logs fora do event loop, numa única thread com fila
+ * limitada. Quando a fila enche, a tarefa é descartada (e contada) em vez de
+ * bloquear a requisição.
+ */
+@Slf4j
+public class AsyncLogPublisher implements AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+    private final Counter dropped;
+
+    public AsyncLogPublisher(String name, int capacity, MeterRegistry meterRegistry) {
+
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.dropped = Counter.builder("gateway.log.dropped")
+                .description("Registros de log descartados por fila cheia")
+                .tag("publisher", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code false} se a tarefa foi descartada; quem chamou continua
+     * responsável pelos recursos que entregaria à tarefa
+     */
+    public boolean offer(Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao escrever log assíncrono: {}", e.getMessage());
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
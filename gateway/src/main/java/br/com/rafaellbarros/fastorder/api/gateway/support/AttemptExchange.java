@@ -0,0 +1,202 @@
+package br.com.rafaellbarros.fastorder.api.gateway.support;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uma tentativa de chamada ao serviço (hedge, retry) sobre o exchange original.
+ * <p>
+ * A tentativa roda o restante da cadeia (load balancer, chamada HTTP) com
+ * atributos próprios, para que cada uma escolha sua instância, e com uma
+ * resposta que guarda status, headers e cookies. Na primeira escrita o
+ * {@link CommitGate} decide: se liberar, tudo vai para a resposta real e os
+ * atributos da tentativa voltam ao exchange original; senão o corpo vai para
+ * {@link CommitGate#refused}, que decide o resultado da escrita.
+ */
+public final class AttemptExchange extends ServerWebExchangeDecorator {
+
+    private final ServerWebExchange original;
+    private final Map<String, Object> attributes;
+    private final AttemptResponse response;
+
+    public AttemptExchange(ServerWebExchange original, Map<String, Object> initialAttributes, CommitGate gate) {
+        super(original);
+        this.original = original;
+        this.attributes = new ConcurrentHashMap<>(initialAttributes);
+        this.response = new AttemptResponse(original.getResponse(), gate);
+    }
+
+    @Override
+    public ServerHttpResponse getResponse() {
+        return response;
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Status recebido pela tentativa, ainda que não tenha chegado à resposta real.
+     */
+    public HttpStatusCode statusCode() {
+        return response.status;
+    }
+
+    /**
+     * A resposta real já recebeu o que esta tentativa escreveu.
+     */
+    public boolean isCommitted() {
+        return response.committed;
+    }
+
+    /**
+     * Passa pelo gate mesmo sem escrita (cadeia concluída sem corpo).
+     */
+    public boolean commit() {
+        return response.commit();
+    }
+
+    /**
+     * Instância escolhida pelo load balancer, ou {@code null} se ainda não escolheu.
+     */
+    public ServiceInstance selectedInstance() {
+
+        Object selected = attributes.get(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+
+        return selected instanceof Response<?> lbResponse && lbResponse.getServer() instanceof ServiceInstance instance
+                ? instance
+                : null;
+    }
+
+    public interface CommitGate {
+
+        /**
+         * @return {@code true} para esta tentativa escrever na resposta real
+         */
+        boolean tryCommit(AttemptExchange attempt);
+
+        /**
+         * O que a escrita devolve quando o gate não a libera; {@code body} é o
+         * corpo recusado, que ainda não foi consumido.
+         */
+        Mono<Void> refused(AttemptExchange attempt, Publisher<? extends DataBuffer> body);
+    }
+
+    private final class AttemptResponse extends ServerHttpResponseDecorator {
+
+        private final CommitGate gate;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final MultiValueMap<String, ResponseCookie> cookies = new LinkedMultiValueMap<>();
+        private volatile HttpStatusCode status;
+        private boolean committed;
+
+        private AttemptResponse(ServerHttpResponse delegate, CommitGate gate) {
+            super(delegate);
+            this.gate = gate;
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            this.status = status;
+            return true;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        @Deprecated
+        public boolean setRawStatusCode(Integer value) {
+            this.status = value != null ? HttpStatusCode.valueOf(value) : null;
+            return true;
+        }
+
+        @Override
+        @Deprecated
+        public Integer getRawStatusCode() {
+            return status != null ? status.value() : null;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public MultiValueMap<String, ResponseCookie> getCookies() {
+            return cookies;
+        }
+
+        @Override
+        public void addCookie(ResponseCookie cookie) {
+            cookies.add(cookie.getName(), cookie);
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return committed && getDelegate().isCommitted();
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return Mono.defer(() -> commit()
+                    ? getDelegate().writeWith(body)
+                    : gate.refused(AttemptExchange.this, body));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return Mono.defer(() -> commit()
+                    ? getDelegate().writeAndFlushWith(body)
+                    : gate.refused(AttemptExchange.this, Flux.from(body).concatMap(Flux::from)));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return Mono.defer(() -> commit()
+                    ? getDelegate().setComplete()
+                    : gate.refused(AttemptExchange.this, Flux.empty()));
+        }
+
+        private synchronized boolean commit() {
+
+            if (committed) {
+                return true;
+            }
+            if (!gate.tryCommit(AttemptExchange.this)) {
+                return false;
+            }
+            committed = true;
+
+            ServerHttpResponse delegate = getDelegate();
+
+            if (status != null) {
+                delegate.setStatusCode(status);
+            }
+            delegate.getHeaders().putAll(headers);
+            cookies.values().forEach(values -> values.forEach(delegate::addCookie));
+            original.getAttributes().putAll(attributes);
+            return true;
+        }
+    }
+}
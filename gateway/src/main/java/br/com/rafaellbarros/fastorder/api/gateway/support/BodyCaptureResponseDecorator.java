@@ -0,0 +1,74 @@
+package br.com.rafaellbarros.fastorder.api.gateway.support;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * Copia o corpo escrito na resposta, sem alterá-lo, e entrega a cópia
+ * completa quando a escrita termina com sucesso. Corpos acima de
+ * {@code maxBytes} e respostas em streaming ({@code writeAndFlushWith}) não
+ * são capturados.
+ */
+public class BodyCaptureResponseDecorator extends ServerHttpResponseDecorator {
+
+    private final int maxBytes;
+    private final Consumer<byte[]> onComplete;
+
+    public BodyCaptureResponseDecorator(ServerHttpResponse delegate, int maxBytes, Consumer<byte[]> onComplete) {
+        super(delegate);
+        this.maxBytes = maxBytes;
+        this.onComplete = onComplete;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+
+        long contentLength = getHeaders().getContentLength();
+
+        if (contentLength > maxBytes) {
+            return super.writeWith(body);
+        }
+
+        Capture capture = new Capture(contentLength > 0 ? (int) contentLength : 1024);
+
+        return super.writeWith(Flux.from(body).doOnNext(capture::append))
+                .doOnSuccess(ignored -> {
+                    if (!capture.overflow) {
+                        onComplete.accept(capture.bytes.toByteArray());
+                    }
+                });
+    }
+
+    private final class Capture {
+
+        private final ByteArrayOutputStream bytes;
+        private boolean overflow;
+
+        private Capture(int initialSize) {
+            this.bytes = new ByteArrayOutputStream(initialSize);
+        }
+
+        private void append(DataBuffer buffer) {
+
+            int length = buffer.readableByteCount();
+
+            if (overflow || bytes.size() + length > maxBytes) {
+                overflow = true;
+                bytes.reset();
+                return;
+            }
+
+            byte[] chunk = new byte[length];
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(chunk), 0, length);
+            bytes.writeBytes(chunk);
+        }
+    }
+}
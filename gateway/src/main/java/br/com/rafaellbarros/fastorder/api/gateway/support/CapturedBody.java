@@ -0,0 +1,90 @@
+package br.com.rafaellbarros.fastorder.api.gateway.support;
+
+import io.netty.buffer.ByteBuf;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Amostra do corpo de uma resposta, limitada a {@code maxBytes}.
+ * <p>
+ * Buffers do Netty são capturados como {@code retainedSlice} (sem cópia); os
+ * demais têm apenas o trecho necessário copiado. O restante do corpo só é
+ * contado. {@link #append} roda no event loop; {@link #decode} e
+ * {@link #release} rodam depois, na thread de log.
+ */
+public final class CapturedBody {
+
+    private final int maxBytes;
+    private final List<Object> chunks = new ArrayList<>(2);
+
+    private int captured;
+    private long total;
+
+    public CapturedBody(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public void append(DataBuffer buffer) {
+
+        int readable = buffer.readableByteCount();
+        total += readable;
+
+        int length = Math.min(readable, maxBytes - captured);
+
+        if (length <= 0) {
+            return;
+        }
+
+        int position = buffer.readPosition();
+
+        if (buffer instanceof NettyDataBuffer nettyBuffer) {
+            chunks.add(nettyBuffer.getNativeBuffer().retainedSlice(position, length));
+        } else {
+            ByteBuffer copy = ByteBuffer.allocate(length);
+            buffer.toByteBuffer(position, copy, 0, length);
+            chunks.add(copy);
+        }
+        captured += length;
+    }
+
+    public long totalBytes() {
+        return total;
+    }
+
+    public boolean isTruncated() {
+        return total > captured;
+    }
+
+    public String decode(Charset charset) {
+
+        byte[] bytes = new byte[captured];
+        int offset = 0;
+
+        for (Object chunk : chunks) {
+            if (chunk instanceof ByteBuf slice) {
+                int length = slice.readableBytes();
+                slice.getBytes(slice.readerIndex(), bytes, offset, length);
+                offset += length;
+            } else {
+                ByteBuffer copy = (ByteBuffer) chunk;
+                copy.get(0, bytes, offset, copy.capacity());
+                offset += copy.capacity();
+            }
+        }
+        return new String(bytes, charset);
+    }
+
+    public void release() {
+        for (Object chunk : chunks) {
+            if (chunk instanceof ByteBuf slice) {
+                slice.release();
+            }
+        }
+        chunks.clear();
+    }
+}
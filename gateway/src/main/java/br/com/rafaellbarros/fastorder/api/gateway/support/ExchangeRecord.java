@@ -0,0 +1,30 @@
+package br.com.rafaellbarros.fastorder.api.gateway.support;
+
+import java.time.Instant;
+
+/**
+ * Resumo de uma troca requisição/resposta guardado no {@link ExchangeRingBuffer}.
+ *
+ * @param requestBytes  {@code Content-Length} da requisição, ou -1 se desconhecido
+ * @param responseBytes bytes do corpo da resposta, ou -1 se desconhecido
+ * @param body          amostra do corpo, presente apenas nas respostas amostradas
+ */
+public record ExchangeRecord(
+        long sequence,
+        Instant timestamp,
+        String routeId,
+        String method,
+        String path,
+        int status,
+        long latencyMillis,
+        long requestBytes,
+        long responseBytes,
+        String body,
+        boolean truncated
+) {
+
+    public ExchangeRecord withBody(String body, boolean truncated) {
+        return new ExchangeRecord(sequence, timestamp, routeId, method, path, status,
+                latencyMillis, requestBytes, responseBytes, body, truncated);
+    }
+}
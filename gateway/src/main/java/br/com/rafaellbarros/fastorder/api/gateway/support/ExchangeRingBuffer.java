@@ -0,0 +1,73 @@
+package br.com.rafaellbarros.fastorder.api.gateway.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Últimas N trocas do gateway, em memória fixa e sem lock.
+ * <p>
+ * Cada escrita reserva uma posição com um incremento atômico e sobrescreve o
+ * registro mais antigo. A leitura é uma cópia sem garantia de consistência
+ * entre posições, suficiente para diagnóstico.
+ */
+public class ExchangeRingBuffer {
+
+    private final AtomicReferenceArray<ExchangeRecord> slots;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ExchangeRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity deve ser positiva");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public long nextSequence() {
+        return sequence.getAndIncrement();
+    }
+
+    /**
+     * Grava o registro na posição da sua sequência (obtida em {@link #nextSequence()}).
+     * Um registro atrasado não sobrescreve um mais novo da mesma posição.
+     */
+    public void record(ExchangeRecord exchange) {
+
+        int index = (int) (exchange.sequence() % slots.length());
+
+        ExchangeRecord current;
+        do {
+            current = slots.get(index);
+            if (current != null && current.sequence() > exchange.sequence()) {
+                return;
+            }
+        } while (!slots.compareAndSet(index, current, exchange));
+    }
+
+    /**
+     * Registros atuais, do mais recente para o mais antigo.
+     */
+    public List<ExchangeRecord> snapshot() {
+
+        List<ExchangeRecord> records = new ArrayList<>(slots.length());
+
+        for (int i = 0; i < slots.length(); i++) {
+            ExchangeRecord record = slots.get(i);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        records.sort(Comparator.comparingLong(ExchangeRecord::sequence).reversed());
+        return records;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public long recorded() {
+        return sequence.get();
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.rafaellbarros.fastorder.api.gateway.support;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.DispatcherHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Encaminha o exchange para o fallback global ({@code /fallback/global}), como
+ * o {@code fallbackUri: forward:} do circuit breaker, para os filtros que
+ * recusam a requisição antes de chamar o serviço.
+ */
+@Component
+public class FallbackForwarder {
+
+    public static final String GLOBAL_FALLBACK_PATH = "/fallback/global";
+
+    // o DispatcherHandler depende dos filtros do gateway; buscado só no uso
+    private final ObjectProvider<DispatcherHandler> dispatcherHandler;
+
+    public FallbackForwarder(ObjectProvider<DispatcherHandler> dispatcherHandler) {
+        this.dispatcherHandler = dispatcherHandler;
+    }
+
+    public Mono<Void> forward(ServerWebExchange exchange) {
+
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .path(GLOBAL_FALLBACK_PATH)
+                .build();
+
+        return dispatcherHandler.getObject().handle(exchange.mutate().request(request).build());
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.rafaellbarros.fastorder.api.gateway.support;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa chamadas concorrentes para a mesma chave: enquanto uma execução está
+ * em andamento, os demais assinantes recebem o mesmo resultado em vez de
+ * dispararem uma nova.
+ * <p>
+ * A entrada sai do mapa assim que a execução termina (sucesso, erro ou vazio);
+ * nada é memorizado além disso.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    public Mono<V> execute(K key, Supplier<? extends Mono<V>> call) {
+        return Mono.defer(() -> {
+
+            Mono<V> current = inFlight.get(key);
+
+            if (current != null) {
+                coalesced.increment();
+                return current;
+            }
+
+            Mono<V> created = flight(key, call);
+            current = inFlight.putIfAbsent(key, created);
+
+            if (current != null) {
+                coalesced.increment();
+                return current;
+            }
+            return created;
+        });
+    }
+
+    /**
+     * Chamadas que reaproveitaram uma execução já em andamento.
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private Mono<V> flight(K key, Supplier<? extends Mono<V>> call) {
+        AtomicReference<Mono<V>> self = new AtomicReference<>();
+
+        // cache(): o resultado é compartilhado e a execução não é cancelada
+        // quando um dos assinantes desiste
+        Mono<V> flight = Mono.defer(call)
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .cache();
+
+        self.set(flight);
+        return flight;
+    }
+}
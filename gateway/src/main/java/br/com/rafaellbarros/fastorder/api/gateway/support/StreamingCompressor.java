@@ -0,0 +1,121 @@
+package br.com.rafaellbarros.fastorder.api.gateway.support;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Comprime um corpo em streaming, buffer a buffer, com gzip ou deflate (zlib).
+ * <p>
+ * Cada buffer de entrada é liberado assim que consumido e a saída sai em
+ * pedaços de no máximo {@code chunkSize} bytes, então a memória usada por
+ * resposta é limitada (o {@link Deflater} mais um pedaço), qualquer que seja
+ * o tamanho do corpo. O gzip é montado sobre o deflate "cru": cabeçalho fixo,
+ * dados e trailer com CRC32 e tamanho.
+ */
+public final class StreamingCompressor {
+
+    private static final byte[] GZIP_HEADER = {
+            0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+
+    private final ContentEncoding encoding;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final DataBufferFactory bufferFactory;
+    private final int chunkSize;
+
+    private StreamingCompressor(ContentEncoding encoding, int level, DataBufferFactory bufferFactory, int chunkSize) {
+        this.encoding = encoding;
+        this.deflater = new Deflater(level, encoding == ContentEncoding.GZIP);
+        this.bufferFactory = bufferFactory;
+        this.chunkSize = chunkSize;
+    }
+
+    public static Flux<DataBuffer> compress(Publisher<? extends DataBuffer> body, ContentEncoding encoding,
+                                            int level, DataBufferFactory bufferFactory, int chunkSize) {
+
+        if (encoding == ContentEncoding.IDENTITY) {
+            return Flux.from(body);
+        }
+
+        return Flux.defer(() -> {
+            StreamingCompressor compressor = new StreamingCompressor(encoding, level, bufferFactory, chunkSize);
+
+            Flux<DataBuffer> header = encoding == ContentEncoding.GZIP
+                    ? Flux.just(bufferFactory.wrap(GZIP_HEADER.clone()))
+                    : Flux.empty();
+
+            return header
+                    .concatWith(Flux.from(body).concatMapIterable(compressor::update))
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(compressor.finish())))
+                    .doFinally(signal -> compressor.deflater.end());
+        });
+    }
+
+    private List<DataBuffer> update(DataBuffer input) {
+        try {
+            List<DataBuffer> output = new ArrayList<>(1);
+
+            // setInput substitui a entrada pendente: cada ByteBuffer é consumido
+            // antes do próximo, e enquanto o iterator ainda está aberto
+            try (DataBuffer.ByteBufferIterator iterator = input.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    ByteBuffer chunk = iterator.next();
+
+                    if (encoding == ContentEncoding.GZIP) {
+                        crc.update(chunk.duplicate());
+                    }
+                    deflater.setInput(chunk);
+                    output.addAll(drain(false));
+                }
+            }
+            return output;
+        } finally {
+            DataBufferUtils.release(input);
+        }
+    }
+
+    private List<DataBuffer> finish() {
+
+        deflater.finish();
+        List<DataBuffer> output = drain(true);
+
+        if (encoding == ContentEncoding.GZIP) {
+            ByteBuffer trailer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            trailer.putInt((int) crc.getValue());
+            trailer.putInt((int) deflater.getBytesRead());
+            output.add(bufferFactory.wrap(trailer.array()));
+        }
+        return output;
+    }
+
+    /**
+     * Consome toda a entrada pendente do deflater (ou tudo até o fim, ao
+     * finalizar) em pedaços de {@code chunkSize}.
+     */
+    private List<DataBuffer> drain(boolean finishing) {
+
+        List<DataBuffer> output = new ArrayList<>(1);
+
+        while (finishing ? !deflater.finished() : !deflater.needsInput()) {
+
+            byte[] chunk = new byte[chunkSize];
+            int length = deflater.deflate(chunk);
+
+            if (length > 0) {
+                output.add(bufferFactory.wrap(ByteBuffer.wrap(chunk, 0, length)));
+            }
+        }
+        return output;
+    }
+}
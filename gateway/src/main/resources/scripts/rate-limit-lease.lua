@@ -0,0 +1,38 @@
+-- Token bucket com concessão em lote.
+-- KEYS[1] = saldo do bucket, KEYS[2] = instante da última recarga (ms)
+-- ARGV[1] = recarga (permissões/s), ARGV[2] = capacidade, ARGV[3] = permissões pedidas
+-- Retorna { concedidas, retry_after_ms }
+
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local ttl = math.max(1, math.ceil(capacity / rate * 2))
+
+local tokens = tonumber(redis.call('GET', KEYS[1]))
+if tokens == nil then
+  tokens = capacity
+end
+
+local last = tonumber(redis.call('GET', KEYS[2]))
+if last == nil then
+  last = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - last) * rate / 1000)
+
+local granted = math.min(requested, math.floor(tokens))
+tokens = tokens - granted
+
+local retry_after = 0
+if granted == 0 then
+  retry_after = math.ceil((1 - tokens) * 1000 / rate)
+end
+
+redis.call('SETEX', KEYS[1], ttl, tostring(tokens))
+redis.call('SETEX', KEYS[2], ttl, tostring(now))
+
+return { granted, retry_after }
@@ -0,0 +1,49 @@
+package br.com.rafaellbarros.fastorder.api.gateway.admin.controller;
+
+import br.com.rafaellbarros.fastorder.api.gateway.dto.request.TokenRevocationRequestDTO;
+import br.com.rafaellbarros.fastorder.api.gateway.security.TokenRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.*;
+
+class TokenRevocationControllerTest {
+
+    private TokenRevocationService service;
+    private TokenRevocationController controller;
+
+    @BeforeEach
+    void setUp() {
+        service = mock(TokenRevocationService.class);
+        controller = new TokenRevocationController(service);
+    }
+
+    @Test
+    void revoke_shouldRevokeToken() {
+        when(service.revokeToken("t")).thenReturn(Mono.empty());
+
+        StepVerifier.create(controller.revoke(new TokenRevocationRequestDTO("t", null))).verifyComplete();
+        verify(service).revokeToken("t");
+    }
+
+    @Test
+    void revoke_shouldRevokeSubject() {
+        when(service.revokeSubject("user-1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(controller.revoke(new TokenRevocationRequestDTO(null, "user-1"))).verifyComplete();
+        verify(service).revokeSubject("user-1");
+    }
+
+    @Test
+    void revoke_shouldRejectAmbiguousRequest() {
+        StepVerifier.create(controller.revoke(new TokenRevocationRequestDTO("t", "user-1")))
+                .verifyError(ResponseStatusException.class);
+        StepVerifier.create(controller.revoke(new TokenRevocationRequestDTO()))
+                .verifyError(ResponseStatusException.class);
+
+        verifyNoInteractions(service);
+    }
+}
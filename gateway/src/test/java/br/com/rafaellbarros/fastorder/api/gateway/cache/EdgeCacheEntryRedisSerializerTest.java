@@ -0,0 +1,50 @@
+package br.com.rafaellbarros.fastorder.api.gateway.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EdgeCacheEntryRedisSerializerTest {
+
+    private final EdgeCacheEntryRedisSerializer serializer = new EdgeCacheEntryRedisSerializer();
+
+    @Test
+    void shouldRoundTripEntry() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put("Cache-Control", "max-age=30");
+
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        EdgeCacheEntry entry = new EdgeCacheEntry(200, headers, "\"abc\"",
+                "{\"id\":1}".getBytes(StandardCharsets.UTF_8), now, now.plusSeconds(30));
+
+        EdgeCacheEntry restored = serializer.deserialize(serializer.serialize(entry));
+
+        assertThat(restored).usingRecursiveComparison().isEqualTo(entry);
+    }
+
+    @Test
+    void shouldRejectUnknownVersion() {
+        assertThatThrownBy(() -> serializer.deserialize(new byte[]{9, 0, 0}))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void shouldMatchIfNoneMatchWeakly() {
+        EdgeCacheEntry entry = new EdgeCacheEntry(200, Map.of(), "\"v1\"", new byte[0],
+                Instant.now(), Instant.now().plusSeconds(1));
+
+        assertThat(entry.matches("W/\"v1\"")).isTrue();
+        assertThat(entry.matches("\"v0\", \"v1\"")).isTrue();
+        assertThat(entry.matches("\"v2\"")).isFalse();
+        assertThat(entry.matches(null)).isFalse();
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.rafaellbarros.fastorder.api.gateway.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryEdgeCacheStore implements EdgeCacheStore {
+
+    public final Map<String, EdgeCacheEntry> entries = new ConcurrentHashMap<>();
+    public final Map<String, Duration> ttls = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<EdgeCacheEntry> get(String key) {
+        return Mono.justOrEmpty(entries.get(key));
+    }
+
+    @Override
+    public Mono<Void> put(String key, EdgeCacheEntry entry, Duration ttl) {
+        return Mono.fromRunnable(() -> {
+            entries.put(key, entry);
+            ttls.put(key, ttl);
+        });
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.rafaellbarros.fastorder.api.gateway.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(80).toNanos();
+
+    @Test
+    void shouldRejectAboveLimitAndReleasePermits() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(new AimdLimit(0.9, SLOW), 2, 1, 10);
+
+        AdaptiveLimiter.Permit first = limiter.tryAcquire();
+        AdaptiveLimiter.Permit second = limiter.tryAcquire();
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(limiter.tryAcquire()).isNull();
+
+        first.ignore();
+
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        assertThat(limiter.tryAcquire()).isNotNull();
+    }
+
+    @Test
+    void aimdShouldGrowUnderLoadAndBackOffOnErrors() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(new AimdLimit(0.5, SLOW), 10, 2, 100);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.update(FAST, 10, false);
+        }
+        assertThat(limiter.limit()).isEqualTo(20);
+
+        limiter.update(FAST, 20, true);
+        assertThat(limiter.limit()).isEqualTo(10);
+
+        limiter.update(SLOW * 2, 10, false);
+        assertThat(limiter.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void aimdShouldNotGrowWhenLimitIsUnused() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(new AimdLimit(0.5, SLOW), 10, 2, 100);
+
+        limiter.update(FAST, 1, false);
+
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void gradientShouldGrowWhileLatencyIsStableAndShrinkWhenQueueForms() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(new GradientLimit(1.5, 0.2, 100), 20, 4, 200);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.update(FAST, limiter.limit(), false);
+        }
+        int grown = limiter.limit();
+        assertThat(grown).isGreaterThan(20);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.update(SLOW, limiter.limit(), false);
+        }
+        assertThat(limiter.limit()).isLessThan(grown / 2);
+    }
+
+    @Test
+    void gradientShouldStayWithinBounds() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(new GradientLimit(1.5, 0.5, 100), 20, 4, 30);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.update(FAST, limiter.limit(), false);
+        }
+        assertThat(limiter.limit()).isEqualTo(30);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.update(FAST, limiter.limit(), true);
+        }
+        assertThat(limiter.limit()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.CoalescingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalescingGlobalFilterTest {
+
+    private final AtomicInteger originCalls = new AtomicInteger();
+
+    private Sinks.Empty<Void> gate;
+    private CoalescingProperties properties;
+    private CoalescingGlobalFilter filter;
+    private String setCookie;
+
+    @BeforeEach
+    void setUp() {
+        gate = Sinks.empty();
+
+        CoalescingProperties.Service service = new CoalescingProperties.Service();
+        service.setPaths(List.of("/v1/users/**"));
+
+        properties = new CoalescingProperties();
+        properties.setServices(Map.of("user-service", service));
+        filter = new CoalescingGlobalFilter(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldShareSingleUpstreamCallAmongConcurrentRequests() {
+        List<ServerWebExchange> exchanges = List.of(
+                exchange("ROLE_USER"), exchange("ROLE_USER"), exchange("ROLE_USER"));
+
+        runConcurrently(exchanges);
+
+        assertThat(originCalls).hasValue(1);
+        for (ServerWebExchange exchange : exchanges) {
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(((MockServerHttpResponse) exchange.getResponse()).getBodyAsString().block())
+                    .isEqualTo("{\"page\":0}");
+        }
+    }
+
+    @Test
+    void shouldNotShareAcrossAuthorityScopes() {
+        runConcurrently(List.of(exchange("ROLE_USER"), exchange("ROLE_ADMIN")));
+
+        assertThat(originCalls).hasValue(2);
+    }
+
+    @Test
+    void shouldLetWaitersCallUpstreamWhenResponseIsNotShareable() {
+        setCookie = "session=1";
+
+        runConcurrently(List.of(exchange("ROLE_USER"), exchange("ROLE_USER")));
+
+        assertThat(originCalls).hasValue(2);
+    }
+
+    private void runConcurrently(List<ServerWebExchange> exchanges) {
+        Flux.fromIterable(exchanges)
+                .flatMap(exchange -> filter.filter(exchange, origin()))
+                .then()
+                .doOnSubscribe(subscription -> Mono.delay(Duration.ofMillis(50))
+                        .subscribe(tick -> gate.tryEmitEmpty()))
+                .block(Duration.ofSeconds(5));
+    }
+
+    private static ServerWebExchange exchange(String authority) {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users/paged?page=0"))
+                .mutate()
+                .principal(Mono.just(new TestingAuthenticationToken("ana", null, authority)))
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("ReactiveCompositeDiscoveryClient_USER-SERVICE")
+                .uri(URI.create("lb://user-service"))
+                .predicate(ignored -> true)
+                .build());
+        return exchange;
+    }
+
+    /**
+     * Origem lenta: só responde quando o teste libera o gate.
+     */
+    private GatewayFilterChain origin() {
+        return exchange -> gate.asMono().then(Mono.defer(() -> {
+            originCalls.incrementAndGet();
+
+            ServerHttpResponse response = exchange.getResponse();
+            byte[] body = "{\"page\":0}".getBytes(StandardCharsets.UTF_8);
+
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setContentLength(body.length);
+            if (setCookie != null) {
+                response.getHeaders().set(HttpHeaders.SET_COOKIE, setCookie);
+            }
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }));
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.CompressionProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.support.ContentEncoding;
+import br.com.rafaellbarros.fastorder.api.gateway.support.StreamingCompressor;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressionGlobalFilterTest {
+
+    private static final String CHUNK = "{\"id\":1,\"name\":\"Fulano de Tal\",\"email\":\"fulano@fastorder.com\"},";
+
+    private CompressionGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        CompressionProperties properties = new CompressionProperties();
+        properties.setChunkSize(256);
+        filter = new CompressionGlobalFilter(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldGzipLargeJsonResponses() throws IOException {
+        MockServerWebExchange exchange = exchange("gzip, deflate, br");
+        String body = CHUNK.repeat(200);
+
+        filter(exchange, MediaType.APPLICATION_JSON, "\"v1\"", body, 20);
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(headers.getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(headers.getContentLength()).isEqualTo(-1);
+        assertThat(headers.getETag()).isEqualTo("W/\"v1\"");
+
+        byte[] compressed = bodyOf(exchange);
+        assertThat(compressed.length).isLessThan(body.length() / 5);
+        assertThat(decode(new GZIPInputStream(new ByteArrayInputStream(compressed)))).isEqualTo(body);
+    }
+
+    @Test
+    void shouldUseDeflateWhenPreferred() throws IOException {
+        MockServerWebExchange exchange = exchange("gzip;q=0.5, deflate");
+        String body = CHUNK.repeat(50);
+
+        filter(exchange, MediaType.APPLICATION_JSON, null, body, 5);
+
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("deflate");
+        assertThat(decode(new InflaterInputStream(new ByteArrayInputStream(bodyOf(exchange))))).isEqualTo(body);
+    }
+
+    @Test
+    void shouldSkipSmallBodies() {
+        MockServerWebExchange exchange = exchange("gzip");
+
+        filter(exchange, MediaType.APPLICATION_JSON, null, CHUNK, 1);
+
+        assertThat(exchange.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(new String(bodyOf(exchange), StandardCharsets.UTF_8)).isEqualTo(CHUNK);
+    }
+
+    @Test
+    void shouldSkipAlreadyCompressedContentTypes() {
+        MockServerWebExchange exchange = exchange("gzip");
+
+        filter(exchange, MediaType.IMAGE_PNG, null, CHUNK.repeat(100), 1);
+
+        assertThat(exchange.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(exchange.getResponse().getHeaders().getVary()).isEmpty();
+    }
+
+    @Test
+    void shouldMarkVaryWithoutCompressingForClientsWithoutEncoding() {
+        MockServerWebExchange exchange = exchange(null);
+        String body = CHUNK.repeat(100);
+
+        filter(exchange, MediaType.APPLICATION_JSON, null, body, 4);
+
+        assertThat(exchange.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(exchange.getResponse().getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(new String(bodyOf(exchange), StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    @Test
+    void shouldCompressEveryPartOfCompositeBuffers() throws IOException {
+        NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+        List<String> parts = List.of(CHUNK.repeat(10), CHUNK.repeat(20), CHUNK.repeat(30));
+
+        DataBuffer composite = bufferFactory.join(parts.stream()
+                .map(part -> (DataBuffer) bufferFactory.wrap(part.getBytes(StandardCharsets.UTF_8)))
+                .toList());
+
+        DataBuffer compressed = DataBufferUtils.join(StreamingCompressor.compress(
+                Flux.just(composite), ContentEncoding.GZIP, 6, bufferFactory, 256)).block();
+        byte[] bytes = new byte[compressed.readableByteCount()];
+        compressed.read(bytes);
+
+        assertThat(decode(new GZIPInputStream(new ByteArrayInputStream(bytes)))).isEqualTo(String.join("", parts));
+    }
+
+    @Test
+    void shouldNegotiateByQuality() {
+        assertThat(ContentEncoding.negotiate("br")).isEqualTo(ContentEncoding.IDENTITY);
+        assertThat(ContentEncoding.negotiate("deflate, gzip")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ContentEncoding.negotiate("gzip;q=0, deflate;q=0.1")).isEqualTo(ContentEncoding.DEFLATE);
+        assertThat(ContentEncoding.negotiate("*")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ContentEncoding.negotiate("*;q=0")).isEqualTo(ContentEncoding.IDENTITY);
+    }
+
+    private void filter(MockServerWebExchange exchange, MediaType contentType, String etag, String body, int chunks) {
+
+        int chunkLength = (body.length() + chunks - 1) / chunks;
+
+        GatewayFilterChain chain = filtered -> {
+            ServerHttpResponse response = filtered.getResponse();
+            response.getHeaders().setContentType(contentType);
+            if (etag != null) {
+                response.getHeaders().setETag(etag);
+            }
+            if (chunks == 1) {
+                response.getHeaders().setContentLength(body.length());
+            }
+
+            return response.writeWith(Flux.range(0, chunks)
+                    .map(i -> body.substring(i * chunkLength, Math.min(body.length(), (i + 1) * chunkLength)))
+                    .map(part -> response.bufferFactory().wrap(part.getBytes(StandardCharsets.UTF_8))));
+        };
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+    }
+
+    private static MockServerWebExchange exchange(String acceptEncoding) {
+
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/user-service/v1/users");
+
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    private static byte[] bodyOf(MockServerWebExchange exchange) {
+
+        DataBuffer joined = DataBufferUtils.join(exchange.getResponse().getBody()).block();
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        return bytes;
+    }
+
+    private static String decode(InputStream input) throws IOException {
+        try (input) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.concurrency.AdaptiveLimiter;
+import br.com.rafaellbarros.fastorder.api.gateway.concurrency.ConcurrencyLimiters;
+import br.com.rafaellbarros.fastorder.api.gateway.config.ConcurrencyLimitProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.support.FallbackForwarder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimitGlobalFilterTest {
+
+    private final FallbackForwarder fallbackForwarder = mock(FallbackForwarder.class);
+
+    private ConcurrencyLimiters limiters;
+    private ConcurrencyLimitGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties.Limit limit = new ConcurrencyLimitProperties.Limit();
+        limit.setAlgorithm(ConcurrencyLimitProperties.Algorithm.AIMD);
+        limit.setInitialLimit(2);
+        limit.setMinLimit(1);
+        limit.setBackoffRatio(0.5);
+
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setDefaults(limit);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiters = new ConcurrencyLimiters(properties, registry);
+        filter = new ConcurrencyLimitGlobalFilter(properties, limiters, fallbackForwarder, registry);
+
+        when(fallbackForwarder.forward(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void shouldForwardToFallbackWhenLimitIsReached() {
+        Sinks.Empty<Void> upstream = Sinks.empty();
+
+        filter.filter(exchange(), next -> upstream.asMono()).subscribe();
+        filter.filter(exchange(), next -> upstream.asMono()).subscribe();
+
+        ServerWebExchange rejected = exchange();
+        filter.filter(rejected, next -> Mono.error(new AssertionError("não deveria encaminhar"))).block();
+
+        verify(fallbackForwarder).forward(rejected);
+
+        upstream.tryEmitEmpty();
+
+        assertThat(limiters.limiterFor("user-service").inFlight()).isZero();
+    }
+
+    @Test
+    void shouldShrinkLimitWhenServiceIsOverloaded() {
+        AdaptiveLimiter limiter = limiters.limiterFor("user-service");
+
+        filter.filter(exchange(), next -> {
+            next.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return Mono.empty();
+        }).block();
+
+        assertThat(limiter.limit()).isEqualTo(1);
+        assertThat(limiter.inFlight()).isZero();
+        verify(fallbackForwarder, never()).forward(any());
+    }
+
+    @Test
+    void shouldNotSampleRetriedRequests() {
+        AdaptiveLimiter limiter = limiters.limiterFor("user-service");
+
+        filter.filter(exchange(), next -> {
+            next.getAttributes().put(RetryGlobalFilter.RETRIED_ATTRIBUTE, Boolean.TRUE);
+            return Mono.empty();
+        }).block();
+
+        assertThat(limiter.limit()).isEqualTo(2);
+
+        filter.filter(exchange(), next -> Mono.empty()).block();
+
+        assertThat(limiter.limit()).isEqualTo(3);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldRunInsideGatewayServedResponsesAndBeforeUpstreamCall() {
+        assertThat(filter.getOrder())
+                .isGreaterThan(NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER)
+                .isLessThan(ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 2);
+    }
+
+    @Test
+    void shouldPassThroughRequestsWithoutRoute() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health"));
+
+        filter.filter(exchange, next -> Mono.empty()).block();
+
+        verify(fallbackForwarder, never()).forward(any());
+    }
+
+    private static ServerWebExchange exchange() {
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/user-service/v1/users"));
+
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("ReactiveCompositeDiscoveryClient_USER-SERVICE")
+                .uri(URI.create("lb://user-service"))
+                .predicate(ignored -> true)
+                .build());
+
+        return exchange;
+    }
+}
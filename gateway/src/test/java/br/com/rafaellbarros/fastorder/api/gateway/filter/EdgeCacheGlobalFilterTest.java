@@ -0,0 +1,170 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.cache.EdgeCache;
+import br.com.rafaellbarros.fastorder.api.gateway.cache.InMemoryEdgeCacheStore;
+import br.com.rafaellbarros.fastorder.api.gateway.config.EdgeCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EdgeCacheGlobalFilterTest {
+
+    private final AtomicInteger originCalls = new AtomicInteger();
+
+    private EdgeCacheProperties properties;
+    private InMemoryEdgeCacheStore store;
+    private EdgeCacheGlobalFilter filter;
+    private String cacheControl;
+
+    @BeforeEach
+    void setUp() {
+        EdgeCacheProperties.Service service = new EdgeCacheProperties.Service();
+        service.setTtl(Duration.ofMinutes(1));
+        service.setPaths(List.of("/v1/users/**"));
+
+        properties = new EdgeCacheProperties();
+        properties.setEnabled(true);
+        properties.setServices(Map.of("user-service", service));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        store = new InMemoryEdgeCacheStore();
+        filter = new EdgeCacheGlobalFilter(properties, new EdgeCache(properties, store, meterRegistry), meterRegistry);
+    }
+
+    @Test
+    void shouldServeSecondRequestFromCache() {
+        ServerWebExchange first = exchange("/v1/users/1", "ROLE_USER");
+        filter.filter(first, origin()).block();
+
+        ServerWebExchange second = exchange("/v1/users/1", "ROLE_USER");
+        filter.filter(second, origin()).block();
+
+        assertThat(originCalls).hasValue(1);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(second.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(second.getResponse().getHeaders().getETag()).isNotBlank();
+        assertThat(((MockServerHttpResponse) second.getResponse()).getBodyAsString().block()).isEqualTo("{\"id\":1}");
+        assertThat(store.ttls.values()).singleElement()
+                .satisfies(ttl -> assertThat(ttl).isBetween(Duration.ofSeconds(55), Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenEtagMatches() {
+        filter.filter(exchange("/v1/users/1", "ROLE_USER"), origin()).block();
+        String etag = store.entries.values().iterator().next().etag();
+
+        ServerWebExchange conditional = exchange(
+                MockServerHttpRequest.get("/v1/users/1").header(HttpHeaders.IF_NONE_MATCH, etag), "ROLE_USER");
+
+        filter.filter(conditional, origin()).block();
+
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(originCalls).hasValue(1);
+    }
+
+    @Test
+    void shouldNotShareEntriesAcrossAuthorityScopes() {
+        filter.filter(exchange("/v1/users/1", "ROLE_USER"), origin()).block();
+        filter.filter(exchange("/v1/users/1", "ROLE_ADMIN"), origin()).block();
+
+        assertThat(originCalls).hasValue(2);
+        assertThat(store.entries).hasSize(2);
+    }
+
+    @Test
+    void shouldRespectNoStoreFromOrigin() {
+        cacheControl = "no-store";
+
+        filter.filter(exchange("/v1/users/1", "ROLE_USER"), origin()).block();
+        filter.filter(exchange("/v1/users/1", "ROLE_USER"), origin()).block();
+
+        assertThat(originCalls).hasValue(2);
+        assertThat(store.entries).isEmpty();
+    }
+
+    @Test
+    void shouldCapTtlWithOriginMaxAge() {
+        cacheControl = "max-age=5";
+
+        filter.filter(exchange("/v1/users/1", "ROLE_USER"), origin()).block();
+
+        assertThat(store.ttls.values()).singleElement()
+                .satisfies(ttl -> assertThat(ttl).isLessThanOrEqualTo(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void shouldIgnorePathsOutsideConfiguredPatterns() {
+        filter.filter(exchange("/v1/orders/1", "ROLE_USER"), origin()).block();
+        filter.filter(exchange("/v1/orders/1", "ROLE_USER"), origin()).block();
+
+        assertThat(originCalls).hasValue(2);
+        assertThat(store.entries).isEmpty();
+    }
+
+    @Test
+    void shouldNotStoreCircuitBreakerFallbackResponses() {
+        ServerWebExchange exchange = exchange("/v1/users/1", "ROLE_USER");
+        exchange.getAttributes().put(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR,
+                new IllegalStateException("circuito aberto"));
+
+        filter.filter(exchange, origin()).block();
+
+        assertThat(store.entries).isEmpty();
+    }
+
+    private static ServerWebExchange exchange(String path, String authority) {
+        return exchange(MockServerHttpRequest.get(path), authority);
+    }
+
+    private static ServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request, String authority) {
+        ServerWebExchange exchange = MockServerWebExchange.from(request).mutate()
+                .principal(Mono.just(new TestingAuthenticationToken("ana", null, authority)))
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("ReactiveCompositeDiscoveryClient_USER-SERVICE")
+                .uri(URI.create("lb://user-service"))
+                .predicate(ignored -> true)
+                .build());
+        return exchange;
+    }
+
+    private GatewayFilterChain origin() {
+        return exchange -> {
+            originCalls.incrementAndGet();
+
+            ServerHttpResponse response = exchange.getResponse();
+            byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setContentLength(body.length);
+            if (cacheControl != null) {
+                response.getHeaders().setCacheControl(cacheControl);
+            }
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.HedgingProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.loadbalancer.ExcludedInstances;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgingGlobalFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final AtomicReference<Object> excluded = new AtomicReference<>();
+
+    private HedgingGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        HedgingProperties.Service service = new HedgingProperties.Service();
+        service.setPaths(List.of("/v1/users/**"));
+        service.setInitialDelay(Duration.ofMillis(20));
+
+        HedgingProperties properties = new HedgingProperties();
+        properties.setServices(Map.of("user-service", service));
+
+        filter = new HedgingGlobalFilter(properties, registry);
+    }
+
+    @Test
+    void shouldSendHedgeToAnotherInstanceAndUseFirstResponse() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/v1/users/1"));
+
+        filter.filter(exchange, chain(Duration.ofSeconds(5), Duration.ZERO)).block(Duration.ofSeconds(2));
+
+        assertThat(attempts).hasValue(2);
+        assertThat(excluded.get()).isEqualTo(Set.of("10.0.0.1:8080"));
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Attempt")).isEqualTo("2");
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("attempt-2");
+        assertThat(count("sent")).isEqualTo(1);
+        assertThat(count("won")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotHedgeFastResponses() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/v1/users/1"));
+
+        filter.filter(exchange, chain(Duration.ZERO, Duration.ZERO)).block(Duration.ofSeconds(2));
+
+        assertThat(attempts).hasValue(1);
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Attempt")).isEqualTo("1");
+        assertThat(count("sent")).isZero();
+    }
+
+    @Test
+    void shouldKeepPrimaryResponseWhenItWinsAfterHedgeWasSent() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/v1/users/1"));
+
+        filter.filter(exchange, chain(Duration.ofMillis(60), Duration.ofSeconds(5))).block(Duration.ofSeconds(2));
+
+        assertThat(attempts).hasValue(2);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("attempt-1");
+        assertThat(count("won")).isZero();
+    }
+
+    @Test
+    void shouldNotHedgeNonGetRequests() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/v1/users"));
+
+        filter.filter(exchange, chain(Duration.ofMillis(100), Duration.ZERO)).block(Duration.ofSeconds(2));
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    /**
+     * Simula o load balancer e a chamada HTTP: a tentativa N escolhe a
+     * instância 10.0.0.N e responde depois do atraso correspondente.
+     */
+    private GatewayFilterChain chain(Duration... delays) {
+        return attemptExchange -> {
+            int attempt = attempts.incrementAndGet();
+
+            excluded.set(attemptExchange.getAttributes().get(ExcludedInstances.ATTRIBUTE));
+            attemptExchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR,
+                    new DefaultResponse(new DefaultServiceInstance(
+                            "user-service-" + attempt, "user-service", "10.0.0." + attempt, 8080, false)));
+
+            ServerHttpResponse response = attemptExchange.getResponse();
+
+            return Mono.delay(delays[attempt - 1]).then(Mono.defer(() -> {
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().set("X-Attempt", Integer.toString(attempt));
+                return response.writeWith(Mono.just(response.bufferFactory()
+                        .wrap(("attempt-" + attempt).getBytes(StandardCharsets.UTF_8))));
+            }));
+        };
+    }
+
+    private double count(String result) {
+        return registry.get("gateway.hedging.requests").tag("result", result).counter().count();
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("ReactiveCompositeDiscoveryClient_USER-SERVICE")
+                .uri(URI.create("lb://user-service"))
+                .predicate(ignored -> true)
+                .build());
+
+        return exchange;
+    }
+}
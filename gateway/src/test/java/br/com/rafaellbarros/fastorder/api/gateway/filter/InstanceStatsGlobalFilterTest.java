@@ -0,0 +1,80 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.GatewayLoadBalancerProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.loadbalancer.InstanceStats;
+import br.com.rafaellbarros.fastorder.api.gateway.loadbalancer.InstanceStatsRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstanceStatsGlobalFilterTest {
+
+    private final ServiceInstance instance = new DefaultServiceInstance("a", "user-service", "10.0.0.1", 8080, false);
+
+    private final GatewayLoadBalancerProperties properties = new GatewayLoadBalancerProperties();
+    private final InstanceStatsRegistry registry = new InstanceStatsRegistry(properties);
+    private final InstanceStatsGlobalFilter filter = new InstanceStatsGlobalFilter(registry, properties);
+
+    @Test
+    void shouldCountInFlightWhileTheCallRuns() {
+        MockServerWebExchange exchange = exchange();
+        AtomicInteger observed = new AtomicInteger(-1);
+
+        filter.filter(exchange, next -> Mono.fromRunnable(() -> observed.set(registry.statsFor(instance).inFlight())))
+                .block();
+
+        assertThat(observed.get()).isEqualTo(1);
+        assertThat(registry.statsFor(instance).inFlight()).isZero();
+    }
+
+    @Test
+    void shouldPenalizeServerErrors() {
+        MockServerWebExchange exchange = exchange();
+
+        filter.filter(exchange, next -> Mono.fromRunnable(
+                () -> next.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE))).block();
+
+        InstanceStats stats = registry.statsFor(instance);
+        assertThat(stats.latency(System.nanoTime())).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(900));
+    }
+
+    @Test
+    void shouldReleaseInFlightWhenCancelled() {
+        StepVerifier.create(filter.filter(exchange(), next -> Mono.never()))
+                .expectSubscription()
+                .thenAwait(Duration.ofMillis(10))
+                .thenCancel()
+                .verify();
+
+        assertThat(registry.statsFor(instance).inFlight()).isZero();
+    }
+
+    @Test
+    void shouldIgnoreExchangesWithoutSelectedInstance() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users"));
+
+        filter.filter(exchange, next -> Mono.empty()).block();
+
+        assertThat(registry.statsFor(instance).latency(System.nanoTime())).isZero();
+    }
+
+    private MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR,
+                new DefaultResponse(instance));
+        return exchange;
+    }
+}
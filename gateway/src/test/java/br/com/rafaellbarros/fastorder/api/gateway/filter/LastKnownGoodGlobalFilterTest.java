@@ -0,0 +1,125 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.cache.LastKnownGoodStore;
+import br.com.rafaellbarros.fastorder.api.gateway.config.LastKnownGoodProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LastKnownGoodGlobalFilterTest {
+
+    private LastKnownGoodGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        LastKnownGoodProperties.Service service = new LastKnownGoodProperties.Service();
+        service.setPaths(List.of("/v1/users/**"));
+
+        LastKnownGoodProperties properties = new LastKnownGoodProperties();
+        properties.setServices(Map.of("user-service", service));
+
+        filter = new LastKnownGoodGlobalFilter(properties, new LastKnownGoodStore(properties), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldServeLastKnownGoodResponseWhenCircuitBreakerFallsBack() {
+        filter.filter(exchange("/v1/users/1", "ROLE_USER"), origin()).block();
+
+        ServerWebExchange failed = exchange("/v1/users/1", "ROLE_USER");
+        filter.filter(failed, fallback()).block();
+
+        HttpHeaders headers = failed.getResponse().getHeaders();
+        assertThat(failed.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(headers.getFirst(HttpHeaders.WARNING)).isEqualTo(LastKnownGoodGlobalFilter.STALE_WARNING);
+        assertThat(headers.getFirst(HttpHeaders.AGE)).isEqualTo("0");
+        assertThat(headers.getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(((MockServerHttpResponse) failed.getResponse()).getBodyAsString().block()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void shouldKeepFallbackWithoutStoredResponse() {
+        ServerWebExchange failed = exchange("/v1/users/2", "ROLE_USER");
+        filter.filter(failed, fallback()).block();
+
+        assertThat(failed.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(failed.getResponse().getHeaders().containsKey(HttpHeaders.WARNING)).isFalse();
+    }
+
+    @Test
+    void shouldNotShareEntriesAcrossAuthorityScopes() {
+        filter.filter(exchange("/v1/users/1", "ROLE_ADMIN"), origin()).block();
+
+        ServerWebExchange failed = exchange("/v1/users/1", "ROLE_USER");
+        filter.filter(failed, fallback()).block();
+
+        assertThat(failed.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void shouldIgnorePathsOutsideConfiguration() {
+        filter.filter(exchange("/v1/orders/1", "ROLE_USER"), origin()).block();
+
+        ServerWebExchange failed = exchange("/v1/orders/1", "ROLE_USER");
+        filter.filter(failed, fallback()).block();
+
+        assertThat(failed.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private static ServerWebExchange exchange(String path, String authority) {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path)).mutate()
+                .principal(Mono.just(new TestingAuthenticationToken("ana", null, authority)))
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("ReactiveCompositeDiscoveryClient_USER-SERVICE")
+                .uri(URI.create("lb://user-service"))
+                .predicate(ignored -> true)
+                .build());
+        return exchange;
+    }
+
+    private static GatewayFilterChain origin() {
+        return exchange -> write(exchange.getResponse(), HttpStatus.OK, "{\"id\":1}");
+    }
+
+    /**
+     * O que o filtro CircuitBreaker faz com {@code fallbackUri}: marca o
+     * exchange e o controller de fallback escreve o 503.
+     */
+    private static GatewayFilterChain fallback() {
+        return exchange -> {
+            exchange.getAttributes().put(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR,
+                    new TimeoutException());
+            return write(exchange.getResponse(), HttpStatus.SERVICE_UNAVAILABLE, "{\"status\":503}");
+        };
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, HttpStatus status, String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
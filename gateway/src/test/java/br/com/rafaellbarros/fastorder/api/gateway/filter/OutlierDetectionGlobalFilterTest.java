@@ -0,0 +1,101 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.OutlierDetectionProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.loadbalancer.OutlierDetector;
+import br.com.rafaellbarros.fastorder.api.gateway.support.AttemptExchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutlierDetectionGlobalFilterTest {
+
+    private final ServiceInstance instance = new DefaultServiceInstance("a", "user-service", "10.0.0.1", 8080, false);
+
+    private final OutlierDetector detector = new OutlierDetector(new OutlierDetectionProperties(), new SimpleMeterRegistry());
+    private final OutlierDetectionGlobalFilter filter = new OutlierDetectionGlobalFilter(detector);
+
+    @Test
+    void shouldCountServerErrorsAsFailures() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users"));
+
+        filter.filter(attempt(exchange), next -> Mono.fromRunnable(
+                () -> next.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE))).block();
+
+        assertThat(consecutiveFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountHungInstanceCancelledByTimeLimiterAsFailure() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users"));
+
+        // como o filtro CircuitBreaker: cancela a chamada, grava a exceção na rota e responde pelo fallback
+        Mono<Void> routed = filter.filter(attempt(exchange), next -> Mono.never())
+                .timeout(Duration.ofMillis(50))
+                .onErrorResume(TimeoutException.class, error -> {
+                    exchange.getAttributes().put(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR, error);
+                    exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                    return exchange.getResponse().setComplete();
+                });
+
+        StepVerifier.create(routed).verifyComplete();
+
+        assertThat(consecutiveFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIgnoreCancelledAttemptsWithoutTimeout() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users"));
+
+        // hedge perdedor: cancelado enquanto a vencedora responde
+        StepVerifier.create(filter.filter(attempt(exchange), next -> Mono.never()))
+                .expectSubscription()
+                .thenAwait(Duration.ofMillis(10))
+                .thenCancel()
+                .verify();
+        exchange.getResponse().setComplete().block();
+
+        assertThat(detector.snapshot()).isEmpty();
+    }
+
+    /**
+     * Tentativa com a instância escolhida só nos próprios atributos, como as de
+     * hedge e retry.
+     */
+    private AttemptExchange attempt(MockServerWebExchange exchange) {
+        Map<String, Object> attributes = Map.of(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR,
+                new DefaultResponse(instance));
+
+        return new AttemptExchange(exchange, attributes, new AttemptExchange.CommitGate() {
+
+            @Override
+            public boolean tryCommit(AttemptExchange attempt) {
+                return true;
+            }
+
+            @Override
+            public Mono<Void> refused(AttemptExchange attempt, Publisher<? extends DataBuffer> body) {
+                return Mono.empty();
+            }
+        });
+    }
+
+    private int consecutiveFailures() {
+        return detector.snapshot().get(0).consecutiveFailures();
+    }
+}
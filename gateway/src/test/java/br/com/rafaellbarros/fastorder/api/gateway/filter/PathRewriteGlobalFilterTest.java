@@ -0,0 +1,90 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.routing.PathRewritePlans;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.filter.FilterDefinition;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathRewriteGlobalFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PathRewritePlans plans;
+    private PathRewriteGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RouteDefinition rewritten = new RouteDefinition();
+        rewritten.setId("orders");
+        rewritten.setFilters(List.of(new FilterDefinition("RewritePath=/orders/(?<rest>.*), /${rest}")));
+
+        RouteDefinitionLocator locator = () -> Flux.just(rewritten);
+
+        meterRegistry = new SimpleMeterRegistry();
+        plans = new PathRewritePlans(locator, meterRegistry);
+        plans.onApplicationEvent(new RefreshRoutesResultEvent(this));
+        filter = new PathRewriteGlobalFilter(plans, meterRegistry);
+    }
+
+    @Test
+    void shouldStripServiceIdAndKeepOriginalUrl() {
+        ServerWebExchange exchange = exchange("user-service", "/user-service/v1/users?page=2");
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        filter.filter(exchange, next -> {
+            forwarded.set(next);
+            return Mono.empty();
+        }).block();
+
+        assertThat(forwarded.get().getRequest().getURI().getRawPath()).isEqualTo("/v1/users");
+        assertThat(forwarded.get().getRequest().getURI().getQuery()).isEqualTo("page=2");
+
+        Set<URI> original = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+        assertThat(original).extracting(URI::getPath).containsExactly("/user-service/v1/users");
+        assertThat(meterRegistry.get("gateway.path.rewrites").tag("result", "applied").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldSkipRoutesThatRewriteThemselves() {
+        ServerWebExchange exchange = exchange("orders", "/orders/42");
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        filter.filter(exchange, next -> {
+            forwarded.set(next);
+            return Mono.empty();
+        }).block();
+
+        assertThat(forwarded.get().getRequest().getURI().getRawPath()).isEqualTo("/orders/42");
+        assertThat(meterRegistry.get("gateway.path.rewrites").tag("result", "skipped").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.path.rewrite.plans").gauge().value()).isEqualTo(1);
+    }
+
+    private static ServerWebExchange exchange(String routeId, String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id(routeId)
+                .uri(URI.create("lb://" + routeId))
+                .predicate(ignored -> true)
+                .build());
+        return exchange;
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.RateLimitProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.ratelimit.BatchedRateLimiter;
+import br.com.rafaellbarros.fastorder.api.gateway.ratelimit.RateLimitDecision;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RateLimitGlobalFilterTest {
+
+    private final BatchedRateLimiter limiter = mock(BatchedRateLimiter.class);
+    private final RateLimitGlobalFilter filter = new RateLimitGlobalFilter(limiter, new RateLimitProperties(),
+            new ObjectMapper().registerModule(new JavaTimeModule()), new SimpleMeterRegistry());
+
+    @Test
+    void shouldKeyBySubjectAndRejectWithRetryAfter() {
+        AtomicReference<String> key = new AtomicReference<>();
+        when(limiter.acquire(anyString(), any())).thenAnswer(invocation -> {
+            key.set(invocation.getArgument(0));
+            return Mono.just(RateLimitDecision.rejected(Duration.ofMillis(1500)));
+        });
+
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users")).mutate()
+                .principal(Mono.just(new TestingAuthenticationToken("user-1", null)))
+                .build();
+
+        filter.filter(exchange, next -> Mono.error(new AssertionError("não deveria encaminhar"))).block();
+
+        assertThat(key.get()).isEqualTo("none:sub:user-1");
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    }
+
+    @Test
+    void shouldForwardWhenAllowed() {
+        when(limiter.acquire(anyString(), any())).thenReturn(Mono.just(RateLimitDecision.ALLOWED));
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users"));
+
+        filter.filter(exchange, next -> {
+            forwarded.set(next);
+            return Mono.empty();
+        }).block();
+
+        assertThat(forwarded.get()).isSameAs(exchange);
+    }
+}
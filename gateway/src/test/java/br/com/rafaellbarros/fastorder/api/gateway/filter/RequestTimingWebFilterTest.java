@@ -0,0 +1,109 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.AccessLogProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.security.AuthOutcome;
+import br.com.rafaellbarros.fastorder.api.gateway.support.AsyncLogPublisher;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingWebFilterTest {
+
+    private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccessLogProperties properties;
+    private RequestTimingWebFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new AccessLogProperties();
+        filter = new RequestTimingWebFilter(meterRegistry, properties,
+                new AsyncLogPublisher("access-log-test", 16, meterRegistry), lines::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        filter.destroy();
+    }
+
+    @Test
+    void shouldTimeRequestsByRouteStatusClassAndAuthOutcome() throws InterruptedException {
+        MockServerWebExchange exchange = exchange();
+
+        filter.filter(exchange, respond(HttpStatus.CREATED, AuthOutcome.SUCCESS)).block();
+        filter.filter(exchange(), respond(HttpStatus.UNAUTHORIZED, AuthOutcome.INVALID)).block();
+
+        Timer created = meterRegistry.get("gateway.http.requests")
+                .tag("route", "user-service").tag("status", "2xx").tag("auth", "success")
+                .timer();
+        assertThat(created.count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.http.requests").tag("status", "4xx").tag("auth", "invalid")
+                .timer().count()).isEqualTo(1);
+
+        // access log desligado por padrão
+        assertThat(lines.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void shouldTagUnroutedAnonymousRequests() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health"));
+
+        filter.filter(exchange, next -> {
+            next.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        }).block();
+
+        assertThat(meterRegistry.get("gateway.http.requests")
+                .tag("route", "none").tag("auth", "anonymous").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLogServerErrorsEvenWhenNotSampled() throws InterruptedException {
+        properties.setEnabled(true);
+        properties.setSampleRate(0.0);
+
+        filter.filter(exchange(), respond(HttpStatus.OK, AuthOutcome.SUCCESS)).block();
+        filter.filter(exchange(), respond(HttpStatus.BAD_GATEWAY, AuthOutcome.SUCCESS)).block();
+
+        assertThat(lines.poll(5, TimeUnit.SECONDS))
+                .startsWith("ACCESS GET /user-service/users -> 502 route=user-service auth=success");
+        assertThat(lines.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    private static MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/user-service/users?token=secret"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("user-service")
+                .uri(URI.create("lb://user-service"))
+                .predicate(ignored -> true)
+                .build());
+        return exchange;
+    }
+
+    private static WebFilterChain respond(HttpStatus status, AuthOutcome outcome) {
+        return exchange -> {
+            outcome.mark(exchange);
+            exchange.getResponse().setStatusCode(status);
+            return Mono.empty();
+        };
+    }
+}
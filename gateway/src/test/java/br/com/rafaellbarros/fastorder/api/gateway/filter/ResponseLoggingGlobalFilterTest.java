@@ -0,0 +1,212 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.CompressionProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.config.ResponseLoggingProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.support.AsyncLogPublisher;
+import br.com.rafaellbarros.fastorder.api.gateway.support.ExchangeRecord;
+import br.com.rafaellbarros.fastorder.api.gateway.support.ExchangeRingBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseLoggingGlobalFilterTest {
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+    private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+
+    private ResponseLoggingProperties properties;
+    private AsyncLogPublisher publisher;
+    private ExchangeRingBuffer recentExchanges;
+    private ResponseLoggingGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseLoggingProperties();
+        properties.setSampleRate(1.0);
+        properties.setMaxBodyBytes(8);
+        publisher = new AsyncLogPublisher("response-log-test", 16, new SimpleMeterRegistry());
+        recentExchanges = new ExchangeRingBuffer(8);
+        filter = new ResponseLoggingGlobalFilter(properties, publisher, recentExchanges, lines::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        filter.destroy();
+    }
+
+    @Test
+    void shouldRunBeforeNettyWriteResponseFilter() {
+        assertThat(filter.getOrder()).isLessThan(NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER);
+    }
+
+    @Test
+    void shouldCaptureBodyPrefixWithoutCopyingNettyBuffers() throws InterruptedException {
+        ServerWebExchange exchange = exchange("user-service");
+        NettyDataBuffer first = buffer("{\"id\":");
+        NettyDataBuffer second = buffer("42,\"name\":\"ana\"}");
+
+        filter.filter(exchange, respond(MediaType.APPLICATION_JSON, first, second)).block();
+
+        String line = lines.poll(5, TimeUnit.SECONDS);
+
+        assertThat(line)
+                .contains("route=user-service", "method=GET", "path=/users/1", "status=200", "bytes=22")
+                .contains("body={\"id\":42")
+                .endsWith("…(truncado)");
+        assertReleased(first.getNativeBuffer());
+        assertReleased(second.getNativeBuffer());
+    }
+
+    @Test
+    void shouldLogOnlyMetadataForContentTypesOutsideAllowlist() throws InterruptedException {
+        ServerWebExchange exchange = exchange("user-service");
+
+        filter.filter(exchange, respond(MediaType.APPLICATION_OCTET_STREAM, buffer("binary"))).block();
+
+        assertThat(lines.poll(5, TimeUnit.SECONDS))
+                .contains("bytes=6")
+                .doesNotContain("body=");
+    }
+
+    @Test
+    void shouldHonourPerRouteSampleRate() throws InterruptedException {
+        properties.setRoutes(Map.of("user-service", 0.0));
+
+        filter.filter(exchange("user-service"), respond(MediaType.APPLICATION_JSON, buffer("{}"))).block();
+        filter.filter(exchange("order-service"), respond(MediaType.APPLICATION_JSON, buffer("{}"))).block();
+
+        assertThat(lines.poll(5, TimeUnit.SECONDS)).contains("route=order-service");
+        assertThat(lines.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void shouldRecordUnsampledExchangesWithoutBody() {
+        properties.setSampleRate(0.0);
+        ServerWebExchange exchange = exchange("user-service");
+        exchange.getResponse().getHeaders().setContentLength(2);
+
+        filter.filter(exchange, respond(MediaType.APPLICATION_JSON, buffer("{}"))).block();
+
+        assertThat(recentExchanges.snapshot()).singleElement()
+                .satisfies(record -> {
+                    assertThat(record.routeId()).isEqualTo("user-service");
+                    assertThat(record.status()).isEqualTo(200);
+                    assertThat(record.responseBytes()).isEqualTo(2);
+                    assertThat(record.body()).isNull();
+                });
+        assertThat(lines).isEmpty();
+    }
+
+    @Test
+    void shouldAttachBodySampleToRecentExchange() throws InterruptedException {
+        filter.filter(exchange("user-service"), respond(MediaType.APPLICATION_JSON, buffer("{\"ok\":1}"))).block();
+
+        assertThat(lines.poll(5, TimeUnit.SECONDS)).isNotNull();
+
+        ExchangeRecord record = recentExchanges.snapshot().get(0);
+        assertThat(record.body()).isEqualTo("{\"ok\":1}");
+        assertThat(record.truncated()).isFalse();
+    }
+
+    @Test
+    void shouldCaptureBodyBeforeGatewayCompression() throws InterruptedException {
+        properties.setMaxBodyBytes(64);
+        CompressionGlobalFilter compression = new CompressionGlobalFilter(new CompressionProperties(), new SimpleMeterRegistry());
+        ServerWebExchange exchange = exchange(MockServerHttpRequest.get("/users/1")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"), "user-service");
+        String body = "{\"id\":1,\"name\":\"ana\"},".repeat(100);
+
+        filter.filter(exchange, logged -> compression.filter(logged, writing(MediaType.APPLICATION_JSON, body))).block();
+
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(lines.poll(5, TimeUnit.SECONDS))
+                .contains("route=user-service", "body={\"id\":1,\"name\":\"ana\"}")
+                .endsWith("…(truncado)");
+
+        ExchangeRecord record = recentExchanges.snapshot().get(0);
+        assertThat(record.body()).startsWith("{\"id\":1,");
+        assertThat(record.responseBytes()).isPositive().isLessThan(body.length());
+    }
+
+    private static ServerWebExchange exchange(String routeId) {
+        return exchange(MockServerHttpRequest.get("/users/1"), routeId);
+    }
+
+    private static ServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request, String routeId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        Route route = Route.async()
+                .id(routeId)
+                .uri(URI.create("lb://" + routeId))
+                .predicate(ignored -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private NettyDataBuffer buffer(String content) {
+        return (NettyDataBuffer) bufferFactory.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Simula o NettyWriteResponseFilter: escreve e libera os buffers, como o
+     * Netty faz depois de enviá-los.
+     */
+    private static GatewayFilterChain respond(MediaType contentType, NettyDataBuffer... buffers) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(contentType);
+            return exchange.getResponse().writeWith(Flux.just(buffers))
+                    .then(Mono.fromRunnable(() -> {
+                        for (NettyDataBuffer buffer : buffers) {
+                            buffer.getNativeBuffer().release();
+                        }
+                    }));
+        };
+    }
+
+    /**
+     * Escreve o corpo sem liberar os buffers: quem os consome é o compressor.
+     */
+    private GatewayFilterChain writing(MediaType contentType, String body) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(contentType);
+            return exchange.getResponse().writeWith(Flux.just(buffer(body)));
+        };
+    }
+
+    private static void assertReleased(ByteBuf buffer) throws InterruptedException {
+        // a fatia retida é liberada pela thread de log logo depois de escrever a linha
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (buffer.refCnt() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(buffer.refCnt()).isZero();
+    }
+}
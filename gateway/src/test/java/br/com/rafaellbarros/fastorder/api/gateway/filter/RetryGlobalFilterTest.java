@@ -0,0 +1,235 @@
+package br.com.rafaellbarros.fastorder.api.gateway.filter;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.RetryProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.loadbalancer.ExcludedInstances;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.Connection;
+import reactor.netty.NettyInbound;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RetryGlobalFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final List<Object> excluded = new ArrayList<>();
+    private final List<String> bodies = new ArrayList<>();
+
+    private RetryProperties properties;
+    private RetryGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RetryProperties();
+        properties.getBackoff().setFirst(Duration.ofMillis(1));
+        filter = new RetryGlobalFilter(properties, registry);
+    }
+
+    @Test
+    void shouldRetryConnectionResetOnAnotherInstance() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users/1"));
+
+        filter.filter(exchange, chain(new Outcome(new IOException("Connection reset by peer")), Outcome.OK))
+                .block(Duration.ofSeconds(2));
+
+        assertThat(attempts).hasValue(2);
+        assertThat(excluded.get(1)).isEqualTo(Set.of("10.0.0.1:8080"));
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("attempt-2");
+        assertThat(count("retried")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetryRetryableStatusWithoutLeakingFirstResponse() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users/1"));
+
+        filter.filter(exchange, chain(new Outcome(HttpStatus.SERVICE_UNAVAILABLE), Outcome.OK))
+                .block(Duration.ofSeconds(2));
+
+        assertThat(attempts).hasValue(2);
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getHeaders().get("X-Attempt")).containsExactly("2");
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("attempt-2");
+    }
+
+    @Test
+    void shouldReturnLastResponseWhenAttemptsAreExhausted() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users/1"));
+        Outcome unavailable = new Outcome(HttpStatus.SERVICE_UNAVAILABLE);
+
+        filter.filter(exchange, chain(unavailable, unavailable, unavailable)).block(Duration.ofSeconds(2));
+
+        assertThat(attempts).hasValue(3);
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("attempt-3");
+    }
+
+    @Test
+    void shouldNotRetryPostWithoutIdempotencyKey() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/v1/users").body("{}"));
+
+        assertThatThrownBy(() -> filter.filter(exchange, chain(new Outcome(new IOException("reset")), Outcome.OK))
+                .block(Duration.ofSeconds(2)))
+                .hasRootCauseInstanceOf(IOException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldReplayBodyWhenRetryingPostWithIdempotencyKey() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/v1/users")
+                .header("Idempotency-Key", "abc")
+                .body("{\"name\":\"Fulano\"}"));
+
+        filter.filter(exchange, chain(new Outcome(new IOException("reset")), Outcome.OK)).block(Duration.ofSeconds(2));
+
+        assertThat(bodies).containsExactly("{\"name\":\"Fulano\"}", "{\"name\":\"Fulano\"}");
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void shouldNotRetryTimeouts() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users/1"));
+
+        assertThatThrownBy(() -> filter.filter(exchange,
+                chain(new Outcome(new IllegalStateException("timeout")), Outcome.OK)).block(Duration.ofSeconds(2)))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldStopRetryingWhenBudgetIsExhausted() {
+        properties.setBudgetRatio(0);
+        properties.setBudgetCapacity(1);
+        filter = new RetryGlobalFilter(properties, registry);
+        Outcome unavailable = new Outcome(HttpStatus.SERVICE_UNAVAILABLE);
+
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users/1")),
+                chain(unavailable, Outcome.OK)).block(Duration.ofSeconds(2));
+
+        attempts.set(0);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users/1"));
+        filter.filter(exchange, chain(unavailable, Outcome.OK)).block(Duration.ofSeconds(2));
+
+        assertThat(attempts).hasValue(1);
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(count("rejected")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDrainConnectionOfRetriedResponse() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/users/1"));
+        AtomicBoolean firstDrained = new AtomicBoolean();
+        Connection first = connection(firstDrained);
+        Connection second = connection(new AtomicBoolean());
+
+        filter.filter(exchange, nettyChain(
+                new NettyOutcome(HttpStatus.SERVICE_UNAVAILABLE, first),
+                new NettyOutcome(HttpStatus.OK, second))).block(Duration.ofSeconds(2));
+
+        assertThat(attempts).hasValue(2);
+        assertThat(firstDrained).isTrue();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((Object) exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR)).isSameAs(second);
+    }
+
+    /**
+     * Simula o load balancer e a chamada HTTP: a tentativa N escolhe a
+     * instância 10.0.0.N e termina como o outcome correspondente.
+     */
+    private GatewayFilterChain chain(Outcome... outcomes) {
+        return attemptExchange -> {
+            int attempt = attempts.incrementAndGet();
+            Outcome outcome = outcomes[attempt - 1];
+
+            excluded.add(attemptExchange.getAttributes().get(ExcludedInstances.ATTRIBUTE));
+            attemptExchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR,
+                    new DefaultResponse(new DefaultServiceInstance(
+                            "user-service-" + attempt, "user-service", "10.0.0." + attempt, 8080, false)));
+
+            ServerHttpResponse response = attemptExchange.getResponse();
+
+            return DataBufferUtils.join(attemptExchange.getRequest().getBody())
+                    .doOnNext(body -> bodies.add(body.toString(StandardCharsets.UTF_8)))
+                    .then(Mono.defer(() -> {
+                        if (outcome.error != null) {
+                            return Mono.error(outcome.error);
+                        }
+                        response.setStatusCode(outcome.status);
+                        response.getHeaders().add("X-Attempt", Integer.toString(attempt));
+                        return response.writeWith(Mono.just(response.bufferFactory()
+                                .wrap(("attempt-" + attempt).getBytes(StandardCharsets.UTF_8))));
+                    }));
+        };
+    }
+
+    /**
+     * Como o {@code NettyRoutingFilter}: define o status e deixa a conexão nos
+     * atributos, sem escrever o corpo.
+     */
+    private GatewayFilterChain nettyChain(NettyOutcome... outcomes) {
+        return attemptExchange -> Mono.fromRunnable(() -> {
+            NettyOutcome outcome = outcomes[attempts.incrementAndGet() - 1];
+
+            attemptExchange.getResponse().setStatusCode(outcome.status());
+            attemptExchange.getAttributes().put(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR, outcome.connection());
+        });
+    }
+
+    private static Connection connection(AtomicBoolean drained) {
+        NettyInbound inbound = mock(NettyInbound.class);
+        when(inbound.receive()).thenReturn(ByteBufFlux.fromString(
+                Flux.just("erro").doOnComplete(() -> drained.set(true))));
+
+        Connection connection = mock(Connection.class);
+        when(connection.inbound()).thenReturn(inbound);
+        return connection;
+    }
+
+    private double count(String result) {
+        return registry.get("gateway.retry.requests").tag("result", result).counter().count();
+    }
+
+    private record NettyOutcome(HttpStatus status, Connection connection) {
+    }
+
+    private record Outcome(HttpStatus status, Throwable error) {
+
+        static final Outcome OK = new Outcome(HttpStatus.OK);
+
+        Outcome(HttpStatus status) {
+            this(status, null);
+        }
+
+        Outcome(Throwable error) {
+            this(null, error);
+        }
+    }
+}
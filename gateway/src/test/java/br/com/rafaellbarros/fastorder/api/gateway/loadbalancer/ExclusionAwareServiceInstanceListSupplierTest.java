@@ -0,0 +1,64 @@
+package br.com.rafaellbarros.fastorder.api.gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import reactor.core.publisher.Flux;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExclusionAwareServiceInstanceListSupplierTest {
+
+    private final ServiceInstance first = new DefaultServiceInstance("a", "user-service", "10.0.0.1", 8080, false);
+    private final ServiceInstance second = new DefaultServiceInstance("b", "user-service", "10.0.0.2", 8080, false);
+
+    @Test
+    void shouldSkipExcludedInstances() {
+        Map<String, Object> attributes = new HashMap<>();
+        ExcludedInstances.add(attributes, first);
+
+        assertThat(supplier(first, second).get(request(attributes)).blockFirst()).containsExactly(second);
+    }
+
+    @Test
+    void shouldKeepAllInstancesWhenEveryOneIsExcluded() {
+        Map<String, Object> attributes = new HashMap<>();
+        ExcludedInstances.add(attributes, first);
+
+        assertThat(supplier(first).get(request(attributes)).blockFirst()).containsExactly(first);
+    }
+
+    @Test
+    void shouldReturnAllInstancesWithoutExclusions() {
+        assertThat(supplier(first, second).get(request(new HashMap<>())).blockFirst()).containsExactly(first, second);
+    }
+
+    private static ExclusionAwareServiceInstanceListSupplier supplier(ServiceInstance... instances) {
+        return new ExclusionAwareServiceInstanceListSupplier(new ServiceInstanceListSupplier() {
+
+            @Override
+            public String getServiceId() {
+                return "user-service";
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.just(List.of(instances));
+            }
+        });
+    }
+
+    private static DefaultRequest<RequestDataContext> request(Map<String, Object> attributes) {
+        return new DefaultRequest<>(new RequestDataContext(
+                new RequestData(MockServerHttpRequest.get("/v1/users").build(), attributes)));
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.rafaellbarros.fastorder.api.gateway.loadbalancer;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.OutlierDetectionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutlierDetectorTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ServiceInstance first = new DefaultServiceInstance("a", "user-service", "10.0.0.1", 8080, false);
+    private final ServiceInstance second = new DefaultServiceInstance("b", "user-service", "10.0.0.2", 8080, false);
+    private final ServiceInstance third = new DefaultServiceInstance("c", "user-service", "10.0.0.3", 8080, false);
+    private final ServiceInstance fourth = new DefaultServiceInstance("d", "user-service", "10.0.0.4", 8080, false);
+
+    private final OutlierDetector detector = new OutlierDetector(new OutlierDetectionProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void shouldEjectAfterConsecutiveFailuresAndReinstateLater() {
+        fail(first, 5, 0);
+
+        assertThat(detector.filter(List.of(first, second), SECOND)).containsExactly(second);
+        assertThat(detector.filter(List.of(first, second), 31 * SECOND)).containsExactly(first, second);
+    }
+
+    @Test
+    void shouldResetFailuresOnSuccess() {
+        fail(first, 4, 0);
+        detector.onSuccess(first);
+        fail(first, 4, 0);
+
+        assertThat(detector.filter(List.of(first, second), SECOND)).containsExactly(first, second);
+    }
+
+    @Test
+    void shouldDoubleEjectionTimeOnRepeatedEjections() {
+        fail(first, 5, 0);
+        // volta em 30s e falha de novo logo em seguida: 60s
+        fail(first, 5, 31 * SECOND);
+
+        assertThat(detector.filter(List.of(first, second), 80 * SECOND)).containsExactly(second);
+        assertThat(detector.filter(List.of(first, second), 92 * SECOND)).containsExactly(first, second);
+    }
+
+    @Test
+    void shouldNotEjectMoreThanConfiguredPercent() {
+        fail(first, 5, 0);
+        fail(second, 5, 0);
+        fail(third, 5, 0);
+
+        assertThat(detector.filter(List.of(first, second, third, fourth), SECOND)).hasSize(2).contains(fourth);
+    }
+
+    @Test
+    void shouldKeepSingleInstance() {
+        fail(first, 5, 0);
+
+        assertThat(detector.filter(List.of(first), SECOND)).containsExactly(first);
+    }
+
+    @Test
+    void shouldReportEjectedInstances() {
+        fail(first, 5, System.nanoTime());
+
+        assertThat(detector.snapshot()).singleElement().satisfies(state -> {
+            assertThat(state.instance()).isEqualTo("10.0.0.1:8080");
+            assertThat(state.ejections()).isEqualTo(1);
+            assertThat(state.ejectedForMillis()).isPositive();
+        });
+    }
+
+    private void fail(ServiceInstance instance, int times, long now) {
+        for (int i = 0; i < times; i++) {
+            detector.onFailure(instance, now);
+        }
+    }
+}
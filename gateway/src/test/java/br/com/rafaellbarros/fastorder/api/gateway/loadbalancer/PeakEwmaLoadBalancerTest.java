@@ -0,0 +1,113 @@
+package br.com.rafaellbarros.fastorder.api.gateway.loadbalancer;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.GatewayLoadBalancerProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeakEwmaLoadBalancerTest {
+
+    private final ServiceInstance fast = new DefaultServiceInstance("a", "user-service", "10.0.0.1", 8080, false);
+    private final ServiceInstance slow = new DefaultServiceInstance("b", "user-service", "10.0.0.2", 8080, false);
+    private final ServiceInstance other = new DefaultServiceInstance("c", "user-service", "10.0.0.3", 8080, false);
+
+    private final InstanceStatsRegistry stats = new InstanceStatsRegistry(new GatewayLoadBalancerProperties());
+
+    @Test
+    void shouldAvoidSlowInstance() {
+        long now = System.nanoTime();
+        stats.statsFor(fast).observe(TimeUnit.MILLISECONDS.toNanos(20), now);
+        stats.statsFor(other).observe(TimeUnit.MILLISECONDS.toNanos(25), now);
+        stats.statsFor(slow).observe(TimeUnit.MILLISECONDS.toNanos(800), now);
+
+        Map<ServiceInstance, Integer> picks = pick(balancer(fast, slow, other), 300);
+
+        // com duas escolhas distintas, a lenta só vence contra ela mesma
+        assertThat(picks).doesNotContainKey(slow);
+        assertThat(picks).containsKeys(fast, other);
+    }
+
+    @Test
+    void shouldAvoidInstanceWithRequestsInFlight() {
+        long now = System.nanoTime();
+        stats.statsFor(fast).observe(TimeUnit.MILLISECONDS.toNanos(20), now);
+        stats.statsFor(slow).observe(TimeUnit.MILLISECONDS.toNanos(30), now);
+
+        InstanceStats busy = stats.statsFor(fast);
+        busy.start();
+        busy.start();
+
+        assertThat(pick(balancer(fast, slow), 50)).containsOnlyKeys(slow);
+    }
+
+    @Test
+    void shouldSpreadAcrossUnknownInstances() {
+        assertThat(pick(balancer(fast, slow, other), 300)).containsOnlyKeys(fast, slow, other);
+    }
+
+    @Test
+    void shouldReturnEmptyResponseWithoutInstances() {
+        Response<ServiceInstance> response = balancer().choose(new DefaultRequest<>()).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.hasServer()).isFalse();
+    }
+
+    @Test
+    void shouldDecayLatencyWithoutNewSamples() {
+        InstanceStats instance = new InstanceStats(TimeUnit.SECONDS.toNanos(1));
+        instance.observe(TimeUnit.MILLISECONDS.toNanos(500), 0);
+
+        assertThat(instance.latency(0)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(instance.latency(TimeUnit.SECONDS.toNanos(5))).isLessThan(TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    void shouldTakePeakImmediately() {
+        InstanceStats instance = new InstanceStats(TimeUnit.SECONDS.toNanos(10));
+        instance.observe(TimeUnit.MILLISECONDS.toNanos(10), 0);
+        instance.observe(TimeUnit.MILLISECONDS.toNanos(400), 1);
+
+        assertThat(instance.latency(1)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(400));
+    }
+
+    private Map<ServiceInstance, Integer> pick(PeakEwmaLoadBalancer balancer, int times) {
+        Map<ServiceInstance, Integer> picks = new HashMap<>();
+        for (int i = 0; i < times; i++) {
+            picks.merge(balancer.choose(new DefaultRequest<>()).block().getServer(), 1, Integer::sum);
+        }
+        return picks;
+    }
+
+    private PeakEwmaLoadBalancer balancer(ServiceInstance... instances) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("supplier", new ServiceInstanceListSupplier() {
+
+            @Override
+            public String getServiceId() {
+                return "user-service";
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.just(List.of(instances));
+            }
+        });
+
+        ObjectProvider<ServiceInstanceListSupplier> provider = beans.getBeanProvider(ServiceInstanceListSupplier.class);
+        return new PeakEwmaLoadBalancer(provider, "user-service", stats);
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.rafaellbarros.fastorder.api.gateway.ratelimit;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchedRateLimiterTest {
+
+    private final AtomicInteger leaseCalls = new AtomicInteger();
+    private final AtomicInteger bucket = new AtomicInteger();
+
+    private RateLimitProperties properties;
+    private RateLimitProperties.Limit limit;
+    private boolean failing;
+    private BatchedRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setBatchSize(10);
+        properties.setLeaseTtl(Duration.ofMinutes(1));
+        limit = properties.getDefaults();
+        bucket.set(25);
+
+        // bucket sem recarga: só o saldo inicial
+        RateLimitPermitStore store = (key, limit, requested) -> Mono.defer(() -> {
+            leaseCalls.incrementAndGet();
+            if (failing) {
+                return Mono.error(new IllegalStateException("redis fora"));
+            }
+            int granted = Math.min(requested, bucket.get());
+            bucket.addAndGet(-granted);
+            return Mono.just(new PermitLease(granted, granted == 0 ? Duration.ofSeconds(2) : Duration.ZERO));
+        });
+
+        limiter = new BatchedRateLimiter(store, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldSpendLeasedPermitsLocally() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.acquire("user-1", limit).block().allowed()).isTrue();
+        }
+
+        assertThat(leaseCalls).hasValue(2);
+    }
+
+    @Test
+    void shouldRejectWhenBucketIsEmptyAndBackOffLocally() {
+        for (int i = 0; i < 25; i++) {
+            assertThat(limiter.acquire("user-1", limit).block().allowed()).isTrue();
+        }
+
+        RateLimitDecision decision = limiter.acquire("user-1", limit).block();
+        int callsAfterRejection = leaseCalls.get();
+
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.retryAfter()).isEqualTo(Duration.ofSeconds(2));
+
+        // recusado localmente até o retry-after, sem voltar ao store
+        assertThat(limiter.acquire("user-1", limit).block().allowed()).isFalse();
+        assertThat(leaseCalls).hasValue(callsAfterRejection);
+    }
+
+    @Test
+    void shouldKeepSeparateBatchesPerKey() {
+        limiter.acquire("user-1", limit).block();
+        limiter.acquire("user-2", limit).block();
+
+        assertThat(leaseCalls).hasValue(2);
+    }
+
+    @Test
+    void shouldFailOpenWhenStoreIsUnavailable() {
+        failing = true;
+
+        assertThat(limiter.acquire("user-1", limit).block().allowed()).isTrue();
+
+        properties.setFailOpen(false);
+        assertThat(limiter.acquire("user-1", limit).block().allowed()).isFalse();
+    }
+}
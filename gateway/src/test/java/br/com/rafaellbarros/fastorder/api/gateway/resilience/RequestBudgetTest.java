@@ -0,0 +1,36 @@
+package br.com.rafaellbarros.fastorder.api.gateway.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestBudgetTest {
+
+    @Test
+    void shouldAllowBurstThenOnlyTheConfiguredRatio() {
+        RequestBudget budget = new RequestBudget(0.1, 2);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        for (int i = 0; i < 9; i++) {
+            budget.deposit();
+        }
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+    }
+
+    @Test
+    void shouldCapBalanceAtCapacity() {
+        RequestBudget budget = new RequestBudget(1.0, 3);
+
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.available()).isEqualTo(3.0);
+    }
+}
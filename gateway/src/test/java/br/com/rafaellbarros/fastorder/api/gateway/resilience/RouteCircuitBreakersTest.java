@@ -0,0 +1,84 @@
+package br.com.rafaellbarros.fastorder.api.gateway.resilience;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.CircuitBreakerProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteCircuitBreakersTest {
+
+    private static final String USER_ROUTE = "ReactiveCompositeDiscoveryClient_user-service";
+    private static final String ORDER_ROUTE = "ReactiveCompositeDiscoveryClient_order-service";
+
+    private final CircuitBreakerProperties properties = new CircuitBreakerProperties();
+    private final RouteCircuitBreakers breakers = new RouteCircuitBreakers(properties);
+    private final ReactiveResilience4JCircuitBreakerFactory factory = new ReactiveResilience4JCircuitBreakerFactory(
+            CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults());
+
+    RouteCircuitBreakersTest() {
+        CircuitBreakerProperties.Breaker orders = new CircuitBreakerProperties.Breaker();
+        orders.setSlidingWindowSize(50);
+        orders.setTimeout(Duration.ofSeconds(8));
+        properties.getServices().put("order-service", orders);
+
+        breakers.customize(factory);
+    }
+
+    @Test
+    void shouldIsolateBreakersPerRoute() {
+        run(USER_ROUTE);
+        run(ORDER_ROUTE);
+
+        CircuitBreaker users = factory.getCircuitBreakerRegistry().circuitBreaker(USER_ROUTE);
+        users.transitionToOpenState();
+
+        assertThat(factory.getCircuitBreakerRegistry().circuitBreaker(ORDER_ROUTE).getState())
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldApplyServiceOverrides() {
+        run(USER_ROUTE);
+        run(ORDER_ROUTE);
+
+        assertThat(factory.getCircuitBreakerRegistry().circuitBreaker(ORDER_ROUTE)
+                .getCircuitBreakerConfig().getSlidingWindowSize()).isEqualTo(50);
+        assertThat(factory.getTimeLimiterRegistry().timeLimiter(ORDER_ROUTE)
+                .getTimeLimiterConfig().getTimeoutDuration()).isEqualTo(Duration.ofSeconds(8));
+        assertThat(factory.getCircuitBreakerRegistry().circuitBreaker(USER_ROUTE)
+                .getCircuitBreakerConfig().getSlidingWindowSize()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldMatchAdminRoutesById() {
+        CircuitBreakerProperties.Breaker admin = new CircuitBreakerProperties.Breaker();
+        properties.getServices().put("promo-route", admin);
+
+        assertThat(RouteCircuitBreakers.breakerFor("promo-route", properties)).isSameAs(admin);
+        assertThat(RouteCircuitBreakers.breakerFor("other-route", properties)).isSameAs(properties.getDefaults());
+    }
+
+    @Test
+    void shouldRemoveBreakersOfRoutesThatDisappeared() {
+        run(USER_ROUTE);
+        run(ORDER_ROUTE);
+
+        breakers.retain(Set.of(ORDER_ROUTE));
+
+        assertThat(factory.getCircuitBreakerRegistry().find(USER_ROUTE)).isEmpty();
+        assertThat(factory.getTimeLimiterRegistry().find(USER_ROUTE)).isEmpty();
+        assertThat(factory.getCircuitBreakerRegistry().find(ORDER_ROUTE)).isPresent();
+    }
+
+    private void run(String routeId) {
+        factory.create(routeId).run(Mono.just("ok"), error -> Mono.error(error)).block();
+    }
+}
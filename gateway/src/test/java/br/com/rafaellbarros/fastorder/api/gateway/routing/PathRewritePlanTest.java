@@ -0,0 +1,58 @@
+package br.com.rafaellbarros.fastorder.api.gateway.routing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.FilterDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathRewritePlanTest {
+
+    @Test
+    void shouldStripFirstSegmentLikeLegacyRegex() {
+        PathRewritePlan plan = PathRewritePlan.STRIP_FIRST_SEGMENT;
+
+        for (String path : List.of("/user-service/v1/users", "/user-service/", "/user-service", "/a/b/c?x")) {
+            String legacy = path.replaceFirst("/[^/]+", "");
+            assertThat(plan.apply(path)).isEqualTo(legacy.isEmpty() ? "/" : legacy);
+        }
+    }
+
+    @Test
+    void shouldStripConfiguredNumberOfSegments() {
+        assertThat(PathRewritePlan.stripSegments(2).apply("/api/orders/42")).isEqualTo("/42");
+        assertThat(PathRewritePlan.stripSegments(3).apply("/api/orders")).isEqualTo("/");
+    }
+
+    @Test
+    void shouldCompileFromRouteMetadata() {
+        RouteDefinition route = new RouteDefinition();
+        route.setMetadata(Map.of(PathRewritePlan.STRIP_PREFIX_METADATA, 2));
+
+        assertThat(PathRewritePlan.compile(route).segments()).isEqualTo(2);
+        assertThat(PathRewritePlan.compile(new RouteDefinition())).isSameAs(PathRewritePlan.STRIP_FIRST_SEGMENT);
+    }
+
+    @Test
+    void shouldIgnoreInvalidStripPrefixMetadata() {
+        RouteDefinition route = new RouteDefinition();
+        route.setMetadata(Map.of(PathRewritePlan.STRIP_PREFIX_METADATA, "dois"));
+
+        assertThat(PathRewritePlan.compile(route)).isSameAs(PathRewritePlan.NONE);
+
+        route.setMetadata(Map.of(PathRewritePlan.STRIP_PREFIX_METADATA, -1));
+
+        assertThat(PathRewritePlan.compile(route)).isSameAs(PathRewritePlan.NONE);
+    }
+
+    @Test
+    void shouldLeaveRoutesWithOwnRewriteFilterUntouched() {
+        RouteDefinition route = new RouteDefinition();
+        route.setFilters(List.of(new FilterDefinition("RewritePath=/orders/(?<rest>.*), /${rest}")));
+
+        assertThat(PathRewritePlan.compile(route).rewrites()).isFalse();
+    }
+}
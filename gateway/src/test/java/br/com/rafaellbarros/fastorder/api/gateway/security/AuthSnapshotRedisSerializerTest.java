@@ -0,0 +1,61 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthSnapshotRedisSerializerTest {
+
+    private final AuthSnapshotRedisSerializer serializer = new AuthSnapshotRedisSerializer();
+
+    @Test
+    void shouldRoundTripSnapshot() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        AuthSnapshot snapshot = new AuthSnapshot("user-1", now, now.plusSeconds(300),
+                List.of("ROLE_ADMIN", "ROLE_USER"),
+                Map.of("preferred_username", "rafael", "email", "rafael@fastorder.com"));
+
+        assertThat(serializer.deserialize(serializer.serialize(snapshot))).isEqualTo(snapshot);
+    }
+
+    @Test
+    void shouldRoundTripSnapshotWithoutOptionalFields() {
+        AuthSnapshot snapshot = new AuthSnapshot(null, null, null, List.of(), Map.of());
+
+        assertThat(serializer.deserialize(serializer.serialize(snapshot))).isEqualTo(snapshot);
+    }
+
+    @Test
+    void shouldBeMuchSmallerThanJavaSerializedAuthentication() {
+        JwtAuthenticationToken authentication = JwtAuthenticationCacheTest.authentication(
+                "x".repeat(1200), Instant.now().plusSeconds(300));
+
+        byte[] snapshot = serializer.serialize(AuthSnapshot.from(authentication, List.of("preferred_username")));
+        byte[] java = RedisSerializer.java().serialize(authentication);
+
+        assertThat(snapshot.length * 5).isLessThan(java.length);
+    }
+
+    @Test
+    void shouldRejectUnknownVersion() {
+        assertThatThrownBy(() -> serializer.deserialize(new byte[]{99}))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void shouldProduceCompactUrlSafeDigest() {
+        String digest = TokenDigest.of("x".repeat(1500));
+
+        assertThat(digest).hasSize(43).matches("[A-Za-z0-9_-]+");
+        assertThat(TokenDigest.of("x".repeat(1500))).isEqualTo(digest);
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BearerTokenExtractorTest {
+
+    private final BearerTokenExtractor extractor = new BearerTokenExtractor();
+
+    @Test
+    void shouldExtractBearerToken() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/users")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer abc.def.ghi"));
+
+        StepVerifier.create(extractor.convert(exchange))
+                .assertNext(auth -> assertThat(auth.getCredentials()).isEqualTo("abc.def.ghi"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldIgnoreMissingOrOtherSchemes() {
+        StepVerifier.create(extractor.convert(MockServerWebExchange.from(MockServerHttpRequest.get("/users"))))
+                .verifyComplete();
+
+        StepVerifier.create(extractor.convert(MockServerWebExchange.from(MockServerHttpRequest.get("/users")
+                        .header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz"))))
+                .verifyComplete();
+    }
+}
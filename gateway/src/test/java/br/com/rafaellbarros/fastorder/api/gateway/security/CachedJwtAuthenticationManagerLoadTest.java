@@ -0,0 +1,86 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.AuthCacheProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.config.TokenRevocationProperties;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import reactor.core.publisher.Flux;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dispara milhares de autenticações concorrentes e verifica que nenhuma thread
+ * adicional é criada: todo o fluxo roda na thread que assina o publisher.
+ */
+class CachedJwtAuthenticationManagerLoadTest {
+
+    private static final int REQUESTS = 20_000;
+    private static final int DISTINCT_TOKENS = 200;
+
+    private CachedJwtAuthenticationManager manager;
+    private List<String> tokens;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        RSAKey key = TestJwts.generateKey("load-test");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(new AuthCacheProperties(),
+                new InMemoryJwtAuthenticationStore(),
+                meterRegistry);
+
+        AuthMetrics metrics = new AuthMetrics(meterRegistry);
+
+
+        JwtAuthCacheService service = new JwtAuthCacheService(
+                NimbusReactiveJwtDecoder.withPublicKey(key.toRSAPublicKey()).build(),
+                new KeycloakJwtAuthenticationConverter(),
+                cache,
+                new InvalidTokenCache(new AuthCacheProperties(), meterRegistry),
+                new TokenRevocationRegistry(new TokenRevocationProperties(), cache),
+                metrics);
+
+        manager = new CachedJwtAuthenticationManager(service, metrics);
+
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        tokens = IntStream.range(0, DISTINCT_TOKENS)
+                .mapToObj(i -> TestJwts.sign(key, "user-" + i, List.of("user"), expiresAt))
+                .toList();
+    }
+
+    @Test
+    void shouldAuthenticateUnderLoadWithoutExtraThreads() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int baseline = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        Set<String> emittingThreads = ConcurrentHashMap.newKeySet();
+
+        List<Authentication> results = Flux.range(0, REQUESTS)
+                .flatMap(i -> manager.authenticate(
+                                new BearerTokenAuthenticationToken(tokens.get(i % DISTINCT_TOKENS)))
+                        .doOnNext(auth -> emittingThreads.add(Thread.currentThread().getName())),
+                        1024)
+                .collectList()
+                .block();
+
+        assertThat(results).hasSize(REQUESTS).allMatch(Authentication::isAuthenticated);
+        assertThat(emittingThreads).containsExactly(Thread.currentThread().getName());
+        assertThat(threads.getPeakThreadCount()).isLessThanOrEqualTo(baseline + 2);
+    }
+}
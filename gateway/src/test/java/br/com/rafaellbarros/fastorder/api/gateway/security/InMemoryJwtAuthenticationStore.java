@@ -0,0 +1,34 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class InMemoryJwtAuthenticationStore implements JwtAuthenticationStore {
+
+    final Map<String, AuthSnapshot> entries = new ConcurrentHashMap<>();
+    final Map<String, Duration> ttls = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<AuthSnapshot> get(String tokenDigest) {
+        return Mono.justOrEmpty(entries.get(tokenDigest));
+    }
+
+    @Override
+    public Mono<Void> put(String tokenDigest, AuthSnapshot snapshot, Duration ttl) {
+        return Mono.fromRunnable(() -> {
+            entries.put(tokenDigest, snapshot);
+            ttls.put(tokenDigest, ttl);
+        });
+    }
+
+    @Override
+    public Mono<Void> delete(String tokenDigest) {
+        return Mono.fromRunnable(() -> {
+            entries.remove(tokenDigest);
+            ttls.remove(tokenDigest);
+        });
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.JwksProperties;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testa o chaveiro contra um endpoint JWKS local que substitui o Keycloak.
+ */
+class JwksKeyringTest {
+
+    private HttpServer server;
+    private final AtomicReference<JWKSet> published = new AtomicReference<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private RSAKey currentKey;
+    private JwksKeyring keyring;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        currentKey = TestJwts.generateKey("key-1");
+        published.set(new JWKSet(currentKey.toPublicJWK()));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/certs", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = published.get().toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        JwksProperties properties = new JwksProperties();
+        properties.setUri("http://127.0.0.1:" + server.getAddress().getPort() + "/certs");
+        properties.setRefreshInterval(Duration.ofHours(1));
+        properties.setUnknownKidRefreshInterval(Duration.ofHours(1));
+
+        keyring = new JwksKeyring(WebClient.builder(), properties);
+        keyring.refresh().block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyring.stop();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldVerifyLocallyWithoutFetchingAgain() throws ParseException {
+        SignedJWT jwt = SignedJWT.parse(sign(currentKey));
+
+        StepVerifier.create(keyring.verify(jwt))
+                .assertNext(claims -> assertThat(claims.getSubject()).isEqualTo("user-1"))
+                .verifyComplete();
+
+        StepVerifier.create(keyring.verify(jwt)).expectNextCount(1).verifyComplete();
+
+        assertThat(keyring.size()).isEqualTo(1);
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void shouldRefetchOnceWhenKidIsUnknownAndRateLimitFurtherRefetches() throws ParseException {
+        RSAKey rotated = TestJwts.generateKey("key-2");
+        published.set(new JWKSet(List.of(currentKey.toPublicJWK(), rotated.toPublicJWK())));
+
+        StepVerifier.create(keyring.verify(SignedJWT.parse(sign(rotated))))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertThat(fetches).hasValue(2);
+
+        RSAKey unknown = TestJwts.generateKey("key-3");
+        StepVerifier.create(keyring.verify(SignedJWT.parse(sign(unknown))))
+                .expectError(UnknownKeyIdException.class)
+                .verify();
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void shouldRejectAsInvalidWhenRefetchConfirmsKidIsUnknown() throws ParseException {
+        RSAKey unknown = TestJwts.generateKey("key-3");
+
+        StepVerifier.create(keyring.verify(SignedJWT.parse(sign(unknown))))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(BadJwtException.class)
+                        .isNotInstanceOf(UnknownKeyIdException.class))
+                .verify();
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void shouldRejectForgedSignature() throws ParseException {
+        RSAKey forger = new RSAKey.Builder(TestJwts.generateKey("other")).keyID("key-1").build();
+
+        StepVerifier.create(keyring.verify(SignedJWT.parse(sign(forger))))
+                .expectError(BadJwtException.class)
+                .verify();
+    }
+
+    private static String sign(RSAKey key) {
+        return TestJwts.sign(key, "user-1", List.of("user"), Instant.now().plusSeconds(300));
+    }
+}
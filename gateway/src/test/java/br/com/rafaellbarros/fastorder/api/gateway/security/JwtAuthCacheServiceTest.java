@@ -0,0 +1,172 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.AuthCacheProperties;
+import br.com.rafaellbarros.fastorder.api.gateway.config.TokenRevocationProperties;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthCacheServiceTest {
+
+    private RSAKey key;
+    private InMemoryJwtAuthenticationStore store;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger decodes;
+    private Sinks.Empty<Void> gate;
+    private JwtAuthenticationCache cache;
+    private TokenRevocationRegistry revocations;
+    private AuthMetrics metrics;
+    private JwtAuthCacheService service;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        key = TestJwts.generateKey("service-test");
+        store = new InMemoryJwtAuthenticationStore();
+        meterRegistry = new SimpleMeterRegistry();
+        decodes = new AtomicInteger();
+        gate = Sinks.empty();
+
+        ReactiveJwtDecoder nimbus = NimbusReactiveJwtDecoder.withPublicKey(key.toRSAPublicKey()).build();
+
+        // segura o decode até o teste liberar, simulando a rajada de requisições
+        ReactiveJwtDecoder decoder = token -> gate.asMono()
+                .then(nimbus.decode(token))
+                .doOnSubscribe(subscription -> decodes.incrementAndGet());
+
+        cache = new JwtAuthenticationCache(new AuthCacheProperties(), store, meterRegistry);
+        revocations = new TokenRevocationRegistry(new TokenRevocationProperties(), cache);
+        metrics = new AuthMetrics(meterRegistry);
+        service = service(decoder);
+    }
+
+    private JwtAuthCacheService service(ReactiveJwtDecoder decoder) {
+        return new JwtAuthCacheService(decoder,
+                new KeycloakJwtAuthenticationConverter(),
+                cache,
+                new InvalidTokenCache(new AuthCacheProperties(), meterRegistry),
+                revocations,
+                metrics);
+    }
+
+    @Test
+    void shouldCoalesceConcurrentMissesForSameToken() {
+        String token = TestJwts.sign(key, "user-1", List.of("user"), Instant.now().plusSeconds(300));
+
+        Flux<AbstractAuthenticationToken> burst = Flux.range(0, 50)
+                .flatMap(i -> service.authenticate(token));
+
+        List<AbstractAuthenticationToken> results = burst
+                .doOnSubscribe(subscription -> Flux.just(1)
+                        .delayElements(Duration.ofMillis(50))
+                        .subscribe(i -> gate.tryEmitEmpty()))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(results).hasSize(50).allMatch(auth -> auth.getName().equals("user-1"));
+        assertThat(decodes).hasValue(1);
+        assertThat(store.entries).hasSize(1);
+        assertThat(meterRegistry.get("gateway.auth.coalesced").functionCounter().count()).isEqualTo(49);
+    }
+
+    @Test
+    void shouldServeLaterRequestsFromLocalCache() {
+        gate.tryEmitEmpty();
+        String token = TestJwts.sign(key, "user-2", List.of("user"), Instant.now().plusSeconds(300));
+
+        AbstractAuthenticationToken first = service.authenticate(token).block();
+        AbstractAuthenticationToken second = service.authenticate(token).block();
+
+        assertThat(second).isSameAs(first);
+        assertThat(decodes).hasValue(1);
+        assertThat(meterRegistry.get("gateway.auth.decode").tag("outcome", "success").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.auth.conversion").tag("outcome", "success").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectRepeatedInvalidTokenWithoutDecoding() throws JOSEException {
+        gate.tryEmitEmpty();
+        RSAKey forger = TestJwts.generateKey("service-test");
+        String forged = TestJwts.sign(forger, "user-3", List.of("admin"), Instant.now().plusSeconds(300));
+
+        StepVerifier.create(service.authenticate(forged)).verifyError(BadJwtException.class);
+        StepVerifier.create(service.authenticate(forged)).verifyError(BadJwtException.class);
+
+        assertThat(decodes).hasValue(1);
+        assertThat(meterRegistry.get("gateway.auth.decode").tag("outcome", "invalid").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "gateway.auth.negative")
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRememberTransientDecoderFailures() {
+        ReactiveJwtDecoder failing = token -> {
+            decodes.incrementAndGet();
+            return Mono.error(new JwtException("JWKS indisponível"));
+        };
+        service = service(failing);
+
+        StepVerifier.create(service.authenticate("a.b.c")).verifyError(JwtException.class);
+        StepVerifier.create(service.authenticate("a.b.c")).verifyError(JwtException.class);
+
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    void shouldNotRememberUnconfirmedUnknownKeyId() {
+        ReactiveJwtDecoder rateLimited = token -> {
+            decodes.incrementAndGet();
+            return Mono.error(new UnknownKeyIdException("Chave de assinatura desconhecida, JWKS não recarregado: key-2"));
+        };
+        service = service(rateLimited);
+
+        StepVerifier.create(service.authenticate("a.b.c")).verifyError(BadJwtException.class);
+        StepVerifier.create(service.authenticate("a.b.c")).verifyError(UnknownKeyIdException.class);
+
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    void shouldRejectRevokedTokenServedFromLocalCache() {
+        gate.tryEmitEmpty();
+        String token = TestJwts.sign(key, "user-4", List.of("user"), Instant.now().plusSeconds(300));
+
+        service.authenticate(token).block();
+        revocations.revokeToken(TokenDigest.of(token), Instant.now());
+
+        StepVerifier.create(service.authenticate(token)).verifyError(BadJwtException.class);
+    }
+
+    @Test
+    void shouldRejectTokensIssuedBeforeSubjectRevocation() {
+        gate.tryEmitEmpty();
+        String token = TestJwts.sign(key, "user-5", List.of("user"), Instant.now().plusSeconds(300));
+
+        service.authenticate(token).block();
+        revocations.revokeSubject("user-5", Instant.now().plusSeconds(1));
+
+        // o L1 foi limpo; o snapshot do Redis também é recusado
+        assertThat(cache.getLocal(TokenDigest.of(token))).isNull();
+        StepVerifier.create(service.authenticate(token)).verifyError(BadJwtException.class);
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.AuthCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationCacheTest {
+
+    private InMemoryJwtAuthenticationStore store;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtAuthenticationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryJwtAuthenticationStore();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new JwtAuthenticationCache(new AuthCacheProperties(), store, meterRegistry);
+    }
+
+    @Test
+    void shouldServeFromLocalTierWithoutTouchingRedis() {
+        AbstractAuthenticationToken auth = authentication("token-1", Instant.now().plusSeconds(300));
+        cache.put("key-1", auth).block();
+
+        store.entries.clear();
+
+        StepVerifier.create(cache.get("key-1", "token-1"))
+                .expectNext(auth)
+                .verifyComplete();
+
+        assertThat(count("local", "hit")).isEqualTo(1);
+        assertThat(count("redis", "hit")).isZero();
+        assertThat(count("redis", "miss")).isZero();
+    }
+
+    @Test
+    void shouldPromoteRedisHitToLocalTier() {
+        JwtAuthenticationToken auth = authentication("token-2", Instant.now().plusSeconds(300));
+        store.entries.put("key-2", AuthSnapshot.from(auth, List.of()));
+
+        AbstractAuthenticationToken fromRedis = cache.get("key-2", "token-2").block();
+
+        assertThat(fromRedis).isInstanceOf(JwtAuthenticationToken.class);
+        assertThat(fromRedis.getName()).isEqualTo("user-1");
+        assertThat(fromRedis.getAuthorities()).isEqualTo(auth.getAuthorities());
+        assertThat(((JwtAuthenticationToken) fromRedis).getToken().getTokenValue()).isEqualTo("token-2");
+
+        StepVerifier.create(cache.get("key-2", "token-2")).expectNext(fromRedis).verifyComplete();
+
+        assertThat(count("local", "miss")).isEqualTo(1);
+        assertThat(count("redis", "hit")).isEqualTo(1);
+        assertThat(count("local", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCompleteEmptyOnMissInBothTiers() {
+        StepVerifier.create(cache.get("unknown", "unknown")).verifyComplete();
+
+        assertThat(count("local", "miss")).isEqualTo(1);
+        assertThat(count("redis", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTreatRedisFailureAsMiss() {
+        JwtAuthenticationStore failing = new JwtAuthenticationStore() {
+            @Override
+            public Mono<AuthSnapshot> get(String tokenDigest) {
+                return Mono.error(new IllegalStateException("redis down"));
+            }
+
+            @Override
+            public Mono<Void> put(String tokenDigest, AuthSnapshot snapshot, Duration ttl) {
+                return Mono.error(new IllegalStateException("redis down"));
+            }
+
+            @Override
+            public Mono<Void> delete(String tokenDigest) {
+                return Mono.error(new IllegalStateException("redis down"));
+            }
+        };
+        cache = new JwtAuthenticationCache(new AuthCacheProperties(), failing, meterRegistry);
+
+        StepVerifier.create(cache.get("key-4", "token-4")).verifyComplete();
+        StepVerifier.create(cache.put("key-4", authentication("token-4", Instant.now().plusSeconds(60))))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotCacheExpiredToken() {
+        AbstractAuthenticationToken auth = authentication("token-3", Instant.now().minusSeconds(1));
+        cache.put("key-3", auth).block();
+
+        assertThat(store.entries).isEmpty();
+        StepVerifier.create(cache.get("key-3", "token-3")).verifyComplete();
+    }
+
+    @Test
+    void shouldBindRedisTtlToTokenExpiration() {
+        cache.put("key-5", authentication("token-5", Instant.now().plusSeconds(90))).block();
+
+        assertThat(store.ttls.get("key-5"))
+                .isLessThanOrEqualTo(Duration.ofSeconds(90))
+                .isGreaterThan(Duration.ofSeconds(80));
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("gateway.auth.cache")
+                .tag("tier", tier)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    static JwtAuthenticationToken authentication(String token, Instant expiresAt) {
+        Jwt jwt = Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("user-1")
+                .issuedAt(expiresAt.minusSeconds(600))
+                .expiresAt(expiresAt)
+                .build();
+
+        return new JwtAuthenticationToken(jwt, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
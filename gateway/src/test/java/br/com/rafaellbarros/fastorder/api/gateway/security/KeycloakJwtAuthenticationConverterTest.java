@@ -0,0 +1,75 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeycloakJwtAuthenticationConverterTest {
+
+    private final KeycloakJwtAuthenticationConverter converter = new KeycloakJwtAuthenticationConverter();
+
+    @Test
+    void shouldMapRealmRolesToAuthorities() {
+        var authentication = converter.convert(jwt(Map.of("roles", List.of("user", "admin")))).block();
+
+        assertThat(authentication.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void shouldShareAuthoritiesForSameRoleSet() {
+        List<GrantedAuthority> first = converter.authorities(jwt(Map.of("roles", new ArrayList<>(List.of("user")))));
+        List<GrantedAuthority> second = converter.authorities(jwt(Map.of("roles", new ArrayList<>(List.of("user")))));
+
+        assertThat(second).isSameAs(first);
+        assertThat(converter.cachedRoleSets()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotBeAffectedByLaterChangesToClaimList() {
+        List<Object> roles = new ArrayList<>(List.of("user"));
+        converter.authorities(jwt(Map.of("roles", roles)));
+
+        roles.add("admin");
+
+        assertThat(converter.authorities(jwt(Map.of("roles", roles))))
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void shouldIgnoreMalformedRoleClaims() {
+        assertThat(converter.authorities(jwt(Map.of("roles", "admin")))).isEmpty();
+        assertThat(converter.authorities(jwt(Map.of()))).isEmpty();
+
+        assertThat(converter.authorities(jwt(Map.of("roles", Arrays.asList("user", 42, null)))))
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+        assertThat(converter.cachedRoleSets()).isZero();
+    }
+
+    @Test
+    void shouldStopCachingAboveLimit() {
+        for (int i = 0; i < KeycloakJwtAuthenticationConverter.MAX_ROLE_SETS + 10; i++) {
+            converter.authorities(jwt(Map.of("roles", List.of("role-" + i))));
+        }
+
+        assertThat(converter.cachedRoleSets()).isEqualTo(KeycloakJwtAuthenticationConverter.MAX_ROLE_SETS);
+    }
+
+    private static Jwt jwt(Map<String, Object> realmAccess) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user-1")
+                .claim("realm_access", realmAccess)
+                .build();
+    }
+}
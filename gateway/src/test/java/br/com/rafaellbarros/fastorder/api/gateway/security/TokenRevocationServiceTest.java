@@ -0,0 +1,45 @@
+package br.com.rafaellbarros.fastorder.api.gateway.security;
+
+import br.com.rafaellbarros.fastorder.api.gateway.config.TokenRevocationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    private TokenRevocationRegistry registry;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = mock(TokenRevocationRegistry.class);
+        service = new TokenRevocationService(mock(ReactiveStringRedisTemplate.class), registry,
+                mock(JwtAuthenticationCache.class), new TokenRevocationProperties());
+    }
+
+    @Test
+    void apply_shouldRevokeTokenDigest() {
+        service.apply("token:abc:1700000000000");
+
+        verify(registry).revokeToken("abc", Instant.ofEpochMilli(1_700_000_000_000L));
+    }
+
+    @Test
+    void apply_shouldRevokeSubjectContainingSeparator() {
+        service.apply("subject:1700000000000:realm:user-1");
+
+        verify(registry).revokeSubject("realm:user-1", Instant.ofEpochMilli(1_700_000_000_000L));
+    }
+
+    @Test
+    void apply_shouldIgnoreMalformedMessages() {
+        service.apply("token:abc");
+        service.apply("other");
+
+        verifyNoInteractions(registry);
+    }
+}
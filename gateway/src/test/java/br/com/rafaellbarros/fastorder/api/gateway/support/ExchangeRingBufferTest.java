@@ -0,0 +1,59 @@
+package br.com.rafaellbarros.fastorder.api.gateway.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExchangeRingBufferTest {
+
+    private final ExchangeRingBuffer buffer = new ExchangeRingBuffer(4);
+
+    @Test
+    void shouldKeepOnlyMostRecentEntries() {
+        for (int i = 0; i < 6; i++) {
+            buffer.record(record(buffer.nextSequence()));
+        }
+
+        assertThat(buffer.snapshot())
+                .extracting(ExchangeRecord::sequence)
+                .containsExactly(5L, 4L, 3L, 2L);
+        assertThat(buffer.recorded()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldNotLetLateWriteOverwriteNewerEntry() {
+        ExchangeRecord late = record(buffer.nextSequence());
+        for (int i = 0; i < 4; i++) {
+            buffer.record(record(buffer.nextSequence()));
+        }
+
+        buffer.record(late.withBody("{}", false));
+
+        assertThat(buffer.snapshot()).extracting(ExchangeRecord::sequence).doesNotContain(0L);
+    }
+
+    @Test
+    void shouldAcceptConcurrentWriters() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        IntStream.range(0, 10_000).forEach(i -> executor.execute(() -> buffer.record(record(buffer.nextSequence()))));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        List<ExchangeRecord> snapshot = buffer.snapshot();
+        assertThat(snapshot).hasSize(4);
+        assertThat(snapshot.get(0).sequence()).isGreaterThanOrEqualTo(9_996L);
+    }
+
+    private static ExchangeRecord record(long sequence) {
+        return new ExchangeRecord(sequence, Instant.now(), "user-service", "GET", "/users",
+                200, 10, -1, 2, null, false);
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.rafaellbarros.fastorder.api.gateway.support;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void shouldShareInFlightExecutionForSameKey() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> result = Sinks.one();
+
+        List<Mono<String>> subscribers = List.of(
+                singleFlight.execute("k", () -> { calls.incrementAndGet(); return result.asMono(); }),
+                singleFlight.execute("k", () -> { calls.incrementAndGet(); return result.asMono(); }),
+                singleFlight.execute("k", () -> { calls.incrementAndGet(); return result.asMono(); }));
+
+        Mono<List<String>> all = Flux.merge(subscribers).collectList();
+
+        StepVerifier.create(all)
+                .then(() -> {
+                    assertThat(singleFlight.inFlight()).isEqualTo(1);
+                    result.tryEmitValue("ok");
+                })
+                .expectNext(List.of("ok", "ok", "ok"))
+                .verifyComplete();
+
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.coalesced()).isEqualTo(2);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldRunAgainAfterPreviousExecutionCompletes() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("k", () -> Mono.fromSupplier(() -> "v" + calls.incrementAndGet())).block();
+
+        StepVerifier.create(singleFlight.execute("k", () -> Mono.fromSupplier(() -> "v" + calls.incrementAndGet())))
+                .expectNext("v2")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotKeepFailedExecution() {
+        StepVerifier.create(singleFlight.execute("k", () -> Mono.error(new IllegalStateException("boom"))))
+                .verifyError(IllegalStateException.class);
+
+        assertThat(singleFlight.inFlight()).isZero();
+
+        StepVerifier.create(singleFlight.execute("k", () -> Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotShareAcrossKeys() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> result = Sinks.one();
+
+        StepVerifier.create(Flux.merge(
+                        singleFlight.execute("a", () -> { calls.incrementAndGet(); return result.asMono(); }),
+                        singleFlight.execute("b", () -> { calls.incrementAndGet(); return result.asMono(); })))
+                .then(() -> result.tryEmitValue("ok"))
+                .expectNext("ok", "ok")
+                .verifyComplete();
+
+        assertThat(calls).hasValue(2);
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.rafaellbarros.security.jwks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Chaves públicas de um JWKS, cada uma já convertida num {@link JWSVerifier}
+ * e indexada por "kid". Imutável: uma recarga produz um novo conjunto.
+ * <p>
+ * A busca do JWKS fica com quem usa (WebClient no gateway, RestClient nos
+ * serviços); aqui só o parse e a verificação local da assinatura.
+ */
+@Slf4j
+public final class JwksKeySet {
+
+    public static final JwksKeySet EMPTY = new JwksKeySet(Map.of());
+
+    private final Map<String, JWSVerifier> verifiers;
+
+    private JwksKeySet(Map<String, JWSVerifier> verifiers) {
+        this.verifiers = verifiers;
+    }
+
+    /**
+     * Chaves de criptografia e de tipos não suportados (só RSA e EC) são
+     * ignoradas.
+     */
+    public static JwksKeySet parse(String json) throws ParseException {
+
+        Map<String, JWSVerifier> loaded = new HashMap<>();
+
+        for (JWK key : JWKSet.parse(json).getKeys()) {
+
+            if (KeyUse.ENCRYPTION.equals(key.getKeyUse())) {
+                continue;
+            }
+
+            try {
+                JWSVerifier verifier = switch (key) {
+                    case RSAKey rsaKey -> new RSASSAVerifier(rsaKey);
+                    case ECKey ecKey -> new ECDSAVerifier(ecKey);
+                    default -> null;
+                };
+
+                if (verifier != null) {
+                    loaded.put(keyIdOrDefault(key.getKeyID()), verifier);
+                }
+            } catch (JOSEException e) {
+                log.warn("Chave {} ignorada: {}", key.getKeyID(), e.getMessage());
+            }
+        }
+
+        return new JwksKeySet(Map.copyOf(loaded));
+    }
+
+    public boolean contains(String keyId) {
+        return verifiers.containsKey(keyIdOrDefault(keyId));
+    }
+
+    public int size() {
+        return verifiers.size();
+    }
+
+    /**
+     * Verifica a assinatura com a chave do "kid" do token e devolve as claims.
+     *
+     * @throws BadJWTException token inválido: "kid" desconhecido, algoritmo não
+     *                         suportado pela chave, assinatura ou claims inválidas
+     * @throws JOSEException   falha ao executar a verificação
+     */
+    public JWTClaimsSet verify(SignedJWT jwt) throws BadJWTException, JOSEException {
+
+        JWSVerifier verifier = verifiers.get(keyIdOrDefault(jwt.getHeader().getKeyID()));
+
+        if (verifier == null) {
+            throw new BadJWTException("Chave de assinatura desconhecida: " + jwt.getHeader().getKeyID());
+        }
+
+        if (!verifier.supportedJWSAlgorithms().contains(jwt.getHeader().getAlgorithm())) {
+            throw new BadJWTException("Algoritmo não suportado: " + jwt.getHeader().getAlgorithm());
+        }
+
+        if (!jwt.verify(verifier)) {
+            throw new BadJWTException("Assinatura do token inválida");
+        }
+
+        try {
+            return jwt.getJWTClaimsSet();
+        } catch (ParseException e) {
+            throw new BadJWTException("Claims malformadas: " + e.getMessage(), e);
+        }
+    }
+
+    private static String keyIdOrDefault(String keyId) {
+        return keyId != null ? keyId : "";
+    }
+}
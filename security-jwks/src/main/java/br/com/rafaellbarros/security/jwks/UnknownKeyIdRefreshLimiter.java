@@ -0,0 +1,31 @@
+package br.com.rafaellbarros.security.jwks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limita as recargas do JWKS disparadas por "kid" desconhecido a uma por
+ * intervalo: tokens forjados com "kid" aleatório não viram uma chamada ao
+ * Keycloak cada. A primeira recarga é liberada de imediato.
+ */
+public final class UnknownKeyIdRefreshLimiter {
+
+    private final long intervalNanos;
+    private final AtomicLong lastRefresh;
+
+    public UnknownKeyIdRefreshLimiter(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        this.lastRefresh = new AtomicLong(System.nanoTime() - intervalNanos);
+    }
+
+    /**
+     * @return {@code true} se quem chamou deve recarregar agora
+     */
+    public boolean tryAcquire() {
+
+        long now = System.nanoTime();
+        long last = lastRefresh.get();
+
+        return now - last >= intervalNanos && lastRefresh.compareAndSet(last, now);
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.rafaellbarros.security.jwks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwksKeySetTest {
+
+    private RSAKey rsaKey;
+    private ECKey ecKey;
+    private JwksKeySet keys;
+
+    @BeforeEach
+    void setUp() throws JOSEException, ParseException {
+        rsaKey = new RSAKeyGenerator(2048).keyID("rsa-1").generate();
+        ecKey = new ECKeyGenerator(Curve.P_256).keyID("ec-1").generate();
+
+        RSAKey encryption = new RSAKeyGenerator(2048).keyID("enc-1").keyUse(KeyUse.ENCRYPTION).generate();
+
+        keys = JwksKeySet.parse(new JWKSet(List.<JWK>of(
+                rsaKey.toPublicJWK(), ecKey.toPublicJWK(), encryption.toPublicJWK())).toString());
+    }
+
+    @Test
+    void shouldIndexSigningKeysByKid() {
+        assertThat(keys.size()).isEqualTo(2);
+        assertThat(keys.contains("rsa-1")).isTrue();
+        assertThat(keys.contains("ec-1")).isTrue();
+        assertThat(keys.contains("enc-1")).isFalse();
+        assertThat(JwksKeySet.EMPTY.contains("rsa-1")).isFalse();
+    }
+
+    @Test
+    void shouldVerifyRsaSignature() throws Exception {
+        SignedJWT jwt = sign(JWSAlgorithm.RS256, "rsa-1", new RSASSASigner(rsaKey));
+
+        assertThat(keys.verify(jwt).getSubject()).isEqualTo("user-1");
+    }
+
+    @Test
+    void shouldVerifyEcSignature() throws Exception {
+        SignedJWT jwt = sign(JWSAlgorithm.ES256, "ec-1", new ECDSASigner(ecKey));
+
+        assertThat(keys.verify(jwt).getSubject()).isEqualTo("user-1");
+    }
+
+    @Test
+    void shouldRejectUnknownKid() throws JOSEException {
+        RSAKey unknown = new RSAKeyGenerator(2048).keyID("rsa-2").generate();
+        SignedJWT jwt = sign(JWSAlgorithm.RS256, "rsa-2", new RSASSASigner(unknown));
+
+        assertThatThrownBy(() -> keys.verify(jwt))
+                .isInstanceOf(BadJWTException.class)
+                .hasMessageContaining("rsa-2");
+    }
+
+    @Test
+    void shouldRejectForgedSignature() throws JOSEException {
+        RSAKey forger = new RSAKeyGenerator(2048).keyID("rsa-1").generate();
+        SignedJWT jwt = sign(JWSAlgorithm.RS256, "rsa-1", new RSASSASigner(forger));
+
+        assertThatThrownBy(() -> keys.verify(jwt))
+                .isInstanceOf(BadJWTException.class)
+                .hasMessageContaining("Assinatura");
+    }
+
+    @Test
+    void shouldRejectAlgorithmNotSupportedByKey() throws JOSEException {
+        SignedJWT jwt = sign(JWSAlgorithm.ES256, "rsa-1", new ECDSASigner(ecKey));
+
+        assertThatThrownBy(() -> keys.verify(jwt))
+                .isInstanceOf(BadJWTException.class)
+                .hasMessageContaining("Algoritmo");
+    }
+
+    @Test
+    void shouldFailOnMalformedJwks() {
+        assertThatThrownBy(() -> JwksKeySet.parse("{\"keys\":"))
+                .isInstanceOf(ParseException.class);
+    }
+
+    private static SignedJWT sign(JWSAlgorithm algorithm, String keyId, JWSSigner signer) throws JOSEException {
+
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(algorithm).keyID(keyId).build(),
+                new JWTClaimsSet.Builder().subject("user-1").build());
+        jwt.sign(signer);
+        return jwt;
+    }
+}
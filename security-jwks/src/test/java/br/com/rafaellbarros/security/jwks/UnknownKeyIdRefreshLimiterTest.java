@@ -0,0 +1,34 @@
+package br.com.rafaellbarros.security.jwks;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UnknownKeyIdRefreshLimiterTest {
+
+    @Test
+    void shouldAllowFirstRefreshAndLimitTheNextOnes() {
+        UnknownKeyIdRefreshLimiter limiter = new UnknownKeyIdRefreshLimiter(Duration.ofHours(1));
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void shouldAllowRefreshAgainAfterInterval() throws InterruptedException {
+        UnknownKeyIdRefreshLimiter limiter = new UnknownKeyIdRefreshLimiter(Duration.ofMillis(200));
+
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+
+        Thread.sleep(300);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.rafaellbarros.user.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "fastorder.security.jwks")
+public class JwksProperties {
+
+    /**
+     * Endpoint JWKS do Keycloak (ex.: {issuer}/protocol/openid-connect/certs).
+     */
+    private String uri;
+
+    /**
+     * Intervalo da atualização em background, antes da rotação das chaves.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * Intervalo mínimo entre recargas disparadas por um "kid" desconhecido.
+     */
+    private Duration unknownKidRefreshInterval = Duration.ofSeconds(30);
+
+    private Duration timeout = Duration.ofSeconds(3);
+}
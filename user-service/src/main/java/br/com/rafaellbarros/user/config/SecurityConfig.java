@@ -2,25 +2,38 @@ package br.com.rafaellbarros.user.config;
 
 import br.com.rafaellbarros.user.security.CustomAccessDeniedHandler;
 import br.com.rafaellbarros.user.security.CustomAuthenticationEntryPoint;
+import br.com.rafaellbarros.user.security.JwksKeyring;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.config.annotation.web.configurers.oauth2.server.resource.OAuth2ResourceServerConfigurer;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.util.StringUtils;
 
 @Configuration
 @EnableMethodSecurity
+@EnableConfigurationProperties(JwksProperties.class)
 public class SecurityConfig {
 
     private final CustomAuthenticationEntryPoint authenticationEntryPoint;
     private final CustomAccessDeniedHandler accessDeniedHandler;
+    private final JwksKeyring jwksKeyring;
+    private final OAuth2ResourceServerProperties resourceServerProperties;
 
     public SecurityConfig(CustomAuthenticationEntryPoint authenticationEntryPoint,
-                          CustomAccessDeniedHandler accessDeniedHandler) {
+                          CustomAccessDeniedHandler accessDeniedHandler,
+                          JwksKeyring jwksKeyring,
+                          OAuth2ResourceServerProperties resourceServerProperties) {
         this.authenticationEntryPoint = authenticationEntryPoint;
         this.accessDeniedHandler = accessDeniedHandler;
+        this.jwksKeyring = jwksKeyring;
+        this.resourceServerProperties = resourceServerProperties;
     }
 
     @Bean
@@ -41,8 +54,26 @@ public class SecurityConfig {
                 .authenticationEntryPoint(authenticationEntryPoint)
                 .accessDeniedHandler(accessDeniedHandler)
             )
-            .oauth2ResourceServer(OAuth2ResourceServerConfigurer::jwt);
+            .oauth2ResourceServer(oauth2 -> oauth2
+                .jwt(jwt -> jwt.decoder(keyringJwtDecoder()))
+            );
 
         return http.build();
     }
+
+    /**
+     * Valida a assinatura localmente com as chaves do {@link JwksKeyring},
+     * sem depender do Keycloak no caminho da requisição. Como bean, também
+     * desliga o decoder que o Boot cria a partir do {@code issuer-uri}.
+     */
+    @Bean
+    JwtDecoder keyringJwtDecoder() {
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(jwksKeyring);
+        String issuerUri = resourceServerProperties.getJwt().getIssuerUri();
+
+        decoder.setJwtValidator(StringUtils.hasText(issuerUri)
+                ? JwtValidators.createDefaultWithIssuer(issuerUri)
+                : JwtValidators.createDefault());
+        return decoder;
+    }
 }
\ No newline at end of file
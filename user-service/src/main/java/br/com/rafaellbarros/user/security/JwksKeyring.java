@@ -0,0 +1,158 @@
+package br.com.rafaellbarros.user.security;
+
+import br.com.rafaellbarros.security.jwks.JwksKeySet;
+import br.com.rafaellbarros.security.jwks.UnknownKeyIdRefreshLimiter;
+import br.com.rafaellbarros.user.config.JwksProperties;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.EncryptedJWT;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.PlainJWT;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+import com.nimbusds.jwt.proc.JWTProcessor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.text.ParseException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chaveiro local das chaves públicas do Keycloak.
+ * <p>
+ * O JWKS é baixado na inicialização e atualizado em background num
+ * {@link JwksKeySet}; a verificação da assinatura é sempre local. Um "kid"
+ * desconhecido dispara uma nova busca, limitada a uma a cada
+ * {@code unknownKidRefreshInterval}.
+ */
+@Slf4j
+@Component
+public class JwksKeyring implements JWTProcessor<SecurityContext> {
+
+    private final RestClient restClient;
+    private final JwksProperties properties;
+
+    private volatile JwksKeySet keys = JwksKeySet.EMPTY;
+
+    private final UnknownKeyIdRefreshLimiter unknownKidRefreshes;
+    private final Object refreshLock = new Object();
+
+    private ScheduledExecutorService scheduler;
+
+    public JwksKeyring(JwksProperties properties) {
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) properties.getTimeout().toMillis());
+        requestFactory.setReadTimeout((int) properties.getTimeout().toMillis());
+
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.properties = properties;
+        this.unknownKidRefreshes = new UnknownKeyIdRefreshLimiter(properties.getUnknownKidRefreshInterval());
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long intervalMillis = properties.getRefreshInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public void refresh() {
+        synchronized (refreshLock) {
+            String json = restClient.get()
+                    .uri(properties.getUri())
+                    .retrieve()
+                    .body(String.class);
+
+            try {
+                keys = JwksKeySet.parse(json);
+            } catch (ParseException e) {
+                throw new IllegalStateException("JWKS inválido: " + e.getMessage(), e);
+            }
+            log.debug("JWKS carregado: {} chaves", keys.size());
+        }
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public JWTClaimsSet process(String token, SecurityContext context)
+            throws ParseException, BadJOSEException, JOSEException {
+        return process(JWTParser.parse(token), context);
+    }
+
+    @Override
+    public JWTClaimsSet process(JWT jwt, SecurityContext context)
+            throws BadJOSEException, JOSEException {
+
+        if (jwt instanceof SignedJWT signedJwt) {
+            return process(signedJwt, context);
+        }
+        throw new BadJWTException("Token não assinado");
+    }
+
+    @Override
+    public JWTClaimsSet process(PlainJWT jwt, SecurityContext context) throws BadJOSEException {
+        throw new BadJWTException("Token não assinado");
+    }
+
+    @Override
+    public JWTClaimsSet process(EncryptedJWT jwt, SecurityContext context) throws BadJOSEException {
+        throw new BadJWTException("Tokens criptografados não são suportados");
+    }
+
+    @Override
+    public JWTClaimsSet process(SignedJWT jwt, SecurityContext context)
+            throws BadJOSEException, JOSEException {
+
+        JwksKeySet current = keys;
+
+        if (!current.contains(jwt.getHeader().getKeyID()) && refreshForUnknownKeyId()) {
+            current = keys;
+        }
+        return current.verify(jwt);
+    }
+
+    private boolean refreshForUnknownKeyId() {
+
+        if (!unknownKidRefreshes.tryAcquire()) {
+            return false;
+        }
+
+        log.info("Kid desconhecido, recarregando JWKS de {}", properties.getUri());
+        return refreshQuietly();
+    }
+
+    private boolean refreshQuietly() {
+        try {
+            refresh();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Falha ao carregar JWKS de {}: {}", properties.getUri(), e.getMessage());
+            return false;
+        }
+    }
+}
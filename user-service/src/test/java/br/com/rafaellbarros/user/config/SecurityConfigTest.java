@@ -0,0 +1,94 @@
+package br.com.rafaellbarros.user.config;
+
+import br.com.rafaellbarros.user.controller.UserController;
+import br.com.rafaellbarros.user.domain.exception.FriendlyFieldErrorResolver;
+import br.com.rafaellbarros.user.dto.response.UserResponseDTO;
+import br.com.rafaellbarros.user.security.CustomAccessDeniedHandler;
+import br.com.rafaellbarros.user.security.CustomAuthenticationEntryPoint;
+import br.com.rafaellbarros.user.security.JwksKeyring;
+import br.com.rafaellbarros.user.service.UserService;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Com {@code issuer-uri} configurado o Boot criaria o próprio decoder
+ * (metadata e JWKS do Keycloak); a cadeia tem que usar o chaveiro.
+ */
+@WebMvcTest(UserController.class)
+@ImportAutoConfiguration(OAuth2ResourceServerAutoConfiguration.class)
+@Import(SecurityConfig.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.security.oauth2.resourceserver.jwt.issuer-uri=http://fake")
+@DisplayName("SecurityConfig")
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwksKeyring jwksKeyring;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private FriendlyFieldErrorResolver fieldResolver;
+
+    @MockBean
+    private CustomAuthenticationEntryPoint authenticationEntryPoint;
+
+    @MockBean
+    private CustomAccessDeniedHandler accessDeniedHandler;
+
+    @Test
+    @DisplayName("Should authenticate bearer tokens with the JWKS keyring")
+    void shouldAuthenticateWithKeyring() throws Exception {
+        UUID id = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("user-1")
+                .issuer("http://fake")
+                .expirationTime(Date.from(Instant.now().plusSeconds(300)))
+                .build();
+
+        SignedJWT token = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("key-1").build(), claims);
+        token.sign(new RSASSASigner(new RSAKeyGenerator(2048).keyID("key-1").generate()));
+
+        given(jwksKeyring.process(any(JWT.class), any())).willReturn(claims);
+        given(userService.getUserById(id)).willReturn(UserResponseDTO.builder().id(id).name("John Doe").build());
+
+        mockMvc.perform(get("/v1/users/{id}", id)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token.serialize()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("John Doe"));
+
+        verify(jwksKeyring).process(any(JWT.class), any());
+    }
+}